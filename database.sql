@@ -2,52 +2,19 @@ CREATE DATABASE spring_restful_api;
 
 USE spring_restful_api;
 
-CREATE TABLE users
-(
-    username         VARCHAR(100) NOT NULL,
-    password         VARCHAR(100) NOT NULL,
-    name             VARCHAR(100) NOT NULL,
-    token            VARCHAR(100),
-    token_expired_at BIGINT,
-    PRIMARY KEY (username),
-    UNIQUE (token)
-) ENGINE InnoDB;
+-- Tables and indexes are created by the Flyway migrations in
+-- src/main/resources/db/migration when the application starts.
 
 SELECT *
 FROM users;
 
 DESC users;
 
-CREATE TABLE contacts
-(
-    id         VARCHAR(100) NOT NULL,
-    username   VARCHAR(100) NOT NULL,
-    first_name VARCHAR(100) NOT NULL,
-    last_name  VARCHAR(100),
-    phone      VARCHAR(100),
-    email      VARCHAR(100),
-    PRIMARY KEY (id),
-    FOREIGN KEY fk_users_contacts (username) REFERENCES users (username)
-) ENGINE InnoDB;
-
 SELECT *
 FROM contacts;
 
 DESC contacts;
 
-CREATE TABLE addresses
-(
-    id          VARCHAR(100) NOT NULL,
-    contact_id  VARCHAR(100) NOT NULL,
-    street      VARCHAR(200),
-    city        VARCHAR(100),
-    province    VARCHAR(100),
-    country     VARCHAR(100) NOT NULL,
-    postal_code VARCHAR(10),
-    PRIMARY KEY (id),
-    FOREIGN KEY fk_contacts_addresses (contact_id) REFERENCES contacts (id)
-) ENGINE InnoDB;
-
 SELECT * FROM addresses;
 
 DESC addresses;
@@ -56,4 +23,4 @@ DELETE FROM addresses;
 
 DELETE FROM contacts;
 
-DELETE FROM users;
\ No newline at end of file
+DELETE FROM users;
@@ -0,0 +1,78 @@
+package project.spring_restful_api;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import project.spring_restful_api.datasource.EndpointMetricsTrackerFactory;
+import project.spring_restful_api.datasource.ReadYourWritesFilter;
+import project.spring_restful_api.datasource.ReplicaDataSourceProperties;
+import project.spring_restful_api.datasource.ReplicaRoutingDataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "urls")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class DataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource,
+            DataSourceProperties properties, ReplicaDataSourceProperties replicaProperties,
+            EndpointMetricsTrackerFactory metricsTrackerFactory) {
+        List<HikariDataSource> replicas = replicaProperties.getUrls().stream().map(url -> {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + url.hashCode());
+            replica.setJdbcUrl(url);
+            replica.setDriverClassName(properties.getDriverClassName());
+            replica.setUsername(replicaProperties.getUsername() != null
+                    ? replicaProperties.getUsername()
+                    : properties.getUsername());
+            replica.setPassword(replicaProperties.getPassword() != null
+                    ? replicaProperties.getPassword()
+                    : properties.getPassword());
+            replica.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+            replica.setConnectionTimeout(replicaProperties.getConnectionTimeout().toMillis());
+            replica.setValidationTimeout(replicaProperties.getValidationTimeout().toMillis());
+            replica.setReadOnly(true);
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(metricsTrackerFactory);
+            return replica;
+        }).toList();
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, replicaProperties.getFailureCooldown());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            ReplicaDataSourceProperties replicaProperties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(replicaProperties.getReadYourWritesWindow()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,29 @@
+package project.spring_restful_api;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import project.spring_restful_api.datasource.EndpointMetricsTrackerFactory;
+
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public static BeanPostProcessor hikariMetricsPostProcessor(
+            ObjectProvider<EndpointMetricsTrackerFactory> metricsTrackerFactory) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari
+                        && hikari.getMetricsTrackerFactory() == null
+                        && hikari.getMetricRegistry() == null) {
+                    hikari.setMetricsTrackerFactory(metricsTrackerFactory.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
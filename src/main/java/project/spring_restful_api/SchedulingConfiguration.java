@@ -0,0 +1,10 @@
+package project.spring_restful_api;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Runs @Scheduled jobs such as the soft delete purge in ContactPurgeService.
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
@@ -0,0 +1,78 @@
+package project.spring_restful_api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import project.spring_restful_api.datasource.EndpointMetricsTrackerFactory;
+import project.spring_restful_api.datasource.ShardDataSourceProperties;
+import project.spring_restful_api.datasource.ShardRebalancer;
+import project.spring_restful_api.datasource.ShardRouter;
+import project.spring_restful_api.datasource.ShardRoutingDataSource;
+
+/**
+ * Spreads users over the databases in app.datasource.shards.urls by a hash of
+ * the username. Not combined with app.datasource.replica.urls.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.shards", name = "urls")
+public class ShardingConfiguration {
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(DataSourceProperties properties,
+            ShardDataSourceProperties shardProperties, EndpointMetricsTrackerFactory metricsTrackerFactory) {
+        List<HikariDataSource> shards = new ArrayList<>();
+        for (int i = 0; i < shardProperties.getUrls().size(); i++) {
+            HikariDataSource shard = new HikariDataSource();
+            shard.setPoolName("shard-" + i);
+            shard.setJdbcUrl(shardProperties.getUrls().get(i));
+            shard.setDriverClassName(properties.getDriverClassName());
+            shard.setUsername(shardProperties.getUsername() != null
+                    ? shardProperties.getUsername()
+                    : properties.getUsername());
+            shard.setPassword(shardProperties.getPassword() != null
+                    ? shardProperties.getPassword()
+                    : properties.getPassword());
+            shard.setMaximumPoolSize(shardProperties.getMaximumPoolSize());
+            shard.setMetricsTrackerFactory(metricsTrackerFactory);
+            shards.add(shard);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    public FlywayMigrationStrategy shardMigrationStrategy(ShardRoutingDataSource dataSource) {
+        return flyway -> dataSource.getShards().forEach(shard -> Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .dataSource(shard)
+                .load()
+                .migrate());
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardRoutingDataSource dataSource, ShardRouter shardRouter,
+            EntityManagerFactory entityManagerFactory) {
+        return new ShardRebalancer(dataSource.getShards(), shardRouter, entityManagerFactory);
+    }
+
+    @Bean
+    public ApplicationRunner shardRebalanceRunner(ShardDataSourceProperties shardProperties,
+            ShardRebalancer shardRebalancer) {
+        return arguments -> {
+            if (shardProperties.isRebalanceOnStartup()) {
+                shardRebalancer.rebalance();
+            }
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package project.spring_restful_api;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import project.spring_restful_api.datasource.DeadlineJpaTransactionManager;
+import project.spring_restful_api.datasource.ReplicaRoutingDataSource;
+
+@Configuration
+public class TransactionConfiguration {
+
+    // Takes the place of Boot's JpaTransactionManager, with the same customizers.
+    @Bean
+    public PlatformTransactionManager transactionManager(
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers,
+            ObjectProvider<ReplicaRoutingDataSource> replicaDataSource) {
+        DeadlineJpaTransactionManager transactionManager = new DeadlineJpaTransactionManager();
+        transactionManager.setReplicaReads(replicaDataSource.getIfAvailable() != null);
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+}
@@ -2,24 +2,126 @@ package project.spring_restful_api;
 
 import java.util.List;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import project.spring_restful_api.bulkhead.BulkheadInterceptor;
+import project.spring_restful_api.datasource.EndpointContextInterceptor;
+import project.spring_restful_api.datasource.RequestDeadlineInterceptor;
+import project.spring_restful_api.datasource.ShardContextInterceptor;
+import project.spring_restful_api.datasource.StatementBudgetInterceptor;
+import project.spring_restful_api.limiter.ConcurrencyLimitFilter;
+import project.spring_restful_api.limiter.ConcurrencyLimitProperties;
+import project.spring_restful_api.limiter.GradientConcurrencyLimiter;
+import project.spring_restful_api.model.WebResponse;
+import project.spring_restful_api.ratelimit.RateLimitInterceptor;
 import project.spring_restful_api.resolver.UserArgumentResolver;
+import project.spring_restful_api.serializer.ResponseSerializerModule;
 
 @Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
 public class WebConfiguration implements WebMvcConfigurer {
 
     @Autowired
 
     private UserArgumentResolver userArgumentResolver;
 
+    @Autowired
+    private RequestDeadlineInterceptor requestDeadlineInterceptor;
+
+    @Autowired
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @Autowired
+    private BulkheadInterceptor bulkheadInterceptor;
+
+    @Autowired
+    private StatementBudgetInterceptor statementBudgetInterceptor;
+
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         WebMvcConfigurer.super.addArgumentResolvers(resolvers);
         resolvers.add(userArgumentResolver);
     }
 
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new EndpointContextInterceptor());
+        registry.addInterceptor(requestDeadlineInterceptor);
+        registry.addInterceptor(rateLimitInterceptor);
+        registry.addInterceptor(bulkheadInterceptor);
+        registry.addInterceptor(statementBudgetInterceptor);
+        registry.addInterceptor(new ShardContextInterceptor());
+    }
+
+    // Mappings declare no produces or consumes: JSON, CBOR and Smile are all
+    // negotiated through the converters below, with JSON when the client has
+    // no preference.
+    @Override
+    public void configureContentNegotiation(ContentNegotiationConfigurer configurer) {
+        configurer.defaultContentType(MediaType.APPLICATION_JSON);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.concurrency-limit.enabled", matchIfMissing = true)
+    public GradientConcurrencyLimiter concurrencyLimiter(ConcurrencyLimitProperties properties) {
+        return new GradientConcurrencyLimiter(properties);
+    }
+
+    // First in the chain, so a shed request costs no other filter, thread
+    // context or connection.
+    @Bean
+    @ConditionalOnProperty(name = "app.concurrency-limit.enabled", matchIfMissing = true)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(GradientConcurrencyLimiter limiter,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limiter, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(WebResponse.FIELD_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    @Bean
+    public ResponseSerializerModule responseSerializerModule() {
+        return new ResponseSerializerModule();
+    }
+
+    // Built from Boot's builder rather than left to the MVC defaults so the binary
+    // encodings get the same modules, settings and fieldFilter as JSON.
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
 }
@@ -0,0 +1,17 @@
+package project.spring_restful_api.bulkhead;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a controller method, or every method of a controller, into a named
+ * bulkhead whose concurrency is limited by app.bulkhead.limits.&lt;name&gt;.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+
+    String value();
+}
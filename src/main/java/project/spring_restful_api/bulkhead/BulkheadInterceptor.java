@@ -0,0 +1,91 @@
+package project.spring_restful_api.bulkhead;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Limits how many requests of one {@link Bulkhead} run at once, so a hot
+ * endpoint cannot hold every pooled connection. A request waits up to
+ * app.bulkhead.max-wait for a permit and is then rejected with 503. Bulkheads
+ * without a configured limit are not restricted.
+ */
+@Component
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT = BulkheadInterceptor.class.getName() + ".permit";
+
+    @Autowired
+    private BulkheadProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Semaphore> semaphores = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        String name = bulkheadOf(handler);
+        if (name == null || !properties.getLimits().containsKey(name)) {
+            return true;
+        }
+
+        Semaphore semaphore = semaphores.computeIfAbsent(name, this::createSemaphore);
+        if (!semaphore.tryAcquire(properties.getMaxWait().toMillis(), TimeUnit.MILLISECONDS)) {
+            Counter.builder("app.bulkhead.rejected").tag("bulkhead", name).register(meterRegistry).increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent requests");
+        }
+
+        request.setAttribute(PERMIT, semaphore);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception exception) {
+        if (request.getAttribute(PERMIT) instanceof Semaphore semaphore) {
+            request.removeAttribute(PERMIT);
+            semaphore.release();
+        }
+    }
+
+    private Semaphore createSemaphore(String name) {
+        int limit = properties.getLimits().get(name);
+        Semaphore semaphore = new Semaphore(limit, true);
+        Gauge.builder("app.bulkhead.active", semaphore, permits -> limit - permits.availablePermits())
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("app.bulkhead.pending", semaphore, Semaphore::getQueueLength)
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        return semaphore;
+    }
+
+    private static String bulkheadOf(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return null;
+        }
+
+        Bulkhead bulkhead = handlerMethod.getMethodAnnotation(Bulkhead.class);
+        if (bulkhead == null) {
+            bulkhead = handlerMethod.getBeanType().getAnnotation(Bulkhead.class);
+        }
+        return bulkhead != null ? bulkhead.value() : null;
+    }
+}
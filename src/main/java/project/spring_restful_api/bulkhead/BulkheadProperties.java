@@ -0,0 +1,17 @@
+package project.spring_restful_api.bulkhead;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+
+    private Map<String, Integer> limits = new HashMap<>();
+
+    private Duration maxWait = Duration.ofMillis(100);
+}
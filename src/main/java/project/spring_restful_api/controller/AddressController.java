@@ -3,28 +3,43 @@ package project.spring_restful_api.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
 
+import project.spring_restful_api.bulkhead.Bulkhead;
+import project.spring_restful_api.datasource.StatementBudget;
 import project.spring_restful_api.entity.User;
 import project.spring_restful_api.model.AddressResponse;
 import project.spring_restful_api.model.CreateAddressRequest;
 import project.spring_restful_api.model.UpdateAddressRequest;
 import project.spring_restful_api.model.WebResponse;
+import project.spring_restful_api.ratelimit.RateLimit;
 import project.spring_restful_api.service.AddressService;
+import project.spring_restful_api.util.ETagUtil;
 
 @RestController
+@Bulkhead("address")
+@RateLimit("addresses")
 public class AddressController {
     @Autowired
     private AddressService addressService;
 
-    @PostMapping(path = "/api/contacts/{contactId}/addresses", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Autowired
+    private ResponseEncoding responseEncoding;
+
+    @StatementBudget(5)
+    @PostMapping(path = "/api/contacts/{contactId}/addresses")
     public WebResponse<AddressResponse> create(User user, @RequestBody CreateAddressRequest request,
             @PathVariable("contactId") String contactId) {
         request.setContactId(contactId);
@@ -32,26 +47,34 @@ public class AddressController {
         return WebResponse.<AddressResponse>builder().data(addressResponse).build();
     }
 
-    @GetMapping(path = "/api/contacts/{contactId}/addresses/{addressId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @StatementBudget(3)
+    @GetMapping(path = "/api/contacts/{contactId}/addresses/{addressId}")
     public WebResponse<AddressResponse> get(User user,
             @PathVariable("contactId") String contactId,
-            @PathVariable("addressId") String addressId) {
-        AddressResponse addressResponse = addressService.get(user, contactId, addressId);
+            @PathVariable("addressId") String addressId,
+            @RequestParam(value = "fields", required = false) String fields) {
+        AddressResponse addressResponse = addressService.get(user, contactId, addressId, fields);
         return WebResponse.<AddressResponse>builder().data(addressResponse).build();
     }
 
-    @PatchMapping(path = "/api/contacts/{contactId}/addresses/{addressId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public WebResponse<AddressResponse> update(User user,
+    @StatementBudget(6)
+    @PatchMapping(path = "/api/contacts/{contactId}/addresses/{addressId}")
+    public ResponseEntity<WebResponse<AddressResponse>> update(User user,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             @RequestBody UpdateAddressRequest request,
             @PathVariable("contactId") String contactId,
             @PathVariable("addressId") String addressId) {
         request.setContactId(contactId);
         request.setAddressId(addressId);
+        request.setVersion(ETagUtil.parseVersion(ifMatch));
         AddressResponse addressResponse = addressService.update(user, request);
-        return WebResponse.<AddressResponse>builder().data(addressResponse).build();
+        return ResponseEntity.ok()
+                .eTag(ETagUtil.toETag(addressResponse.getVersion()))
+                .body(WebResponse.<AddressResponse>builder().data(addressResponse).build());
     }
 
-    @DeleteMapping(path = "/api/contacts/{contactId}/addresses/{addressId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @StatementBudget(5)
+    @DeleteMapping(path = "/api/contacts/{contactId}/addresses/{addressId}")
     public WebResponse<String> delete(User user,
             @PathVariable("contactId") String contactId,
             @PathVariable("addressId") String addressId) {
@@ -59,9 +82,23 @@ public class AddressController {
         return WebResponse.<String>builder().data("OK").build();
     }
 
-    @GetMapping(path = "/api/contacts/{contactId}/addresses", produces = MediaType.APPLICATION_JSON_VALUE)
-    public WebResponse<List<AddressResponse>> list(User user, @PathVariable("contactId") String contactId) {
-        List<AddressResponse> addressResponses = addressService.list(user, contactId);
-        return WebResponse.<List<AddressResponse>>builder().data(addressResponses).build();
+    @StatementBudget(5)
+    @GetMapping(path = "/api/contacts/{contactId}/addresses")
+    public ResponseEntity<WebResponse<List<AddressResponse>>> list(User user,
+            @PathVariable("contactId") String contactId,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            NativeWebRequest webRequest) {
+        String eTag = ETagUtil.toETag(addressService.listVersion(user, contactId), fields,
+                responseEncoding.negotiate(webRequest));
+        if (ETagUtil.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+
+        List<AddressResponse> addressResponses = addressService.list(user, contactId, fields);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(WebResponse.<List<AddressResponse>>builder().data(addressResponses).build());
     }
 }
@@ -1,12 +1,14 @@
 package project.spring_restful_api.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import project.spring_restful_api.bulkhead.Bulkhead;
+import project.spring_restful_api.datasource.ShardRouter;
+import project.spring_restful_api.datasource.StatementBudget;
 import project.spring_restful_api.entity.User;
 import project.spring_restful_api.model.LoginUserRequest;
 import project.spring_restful_api.model.TokenResponse;
@@ -19,13 +21,19 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
-    @PostMapping(path = "/api/auth/login", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Bulkhead("auth")
+    @StatementBudget(2)
+    @PostMapping(path = "/api/auth/login")
     public WebResponse<TokenResponse> login(@RequestBody LoginUserRequest request) {
-        TokenResponse tokenResponse = authService.login(request);
+        TokenResponse tokenResponse = shardRouter.onUser(request.getUsername(), () -> authService.login(request));
         return WebResponse.<TokenResponse>builder().data(tokenResponse).build();
     }
 
-    @DeleteMapping(path = "/api/auth/logout", produces = MediaType.APPLICATION_JSON_VALUE)
+    @StatementBudget(2)
+    @DeleteMapping(path = "/api/auth/logout")
     public WebResponse<String> logout(User user) {
         authService.logout(user);
         return WebResponse.<String>builder().data("OK").build();
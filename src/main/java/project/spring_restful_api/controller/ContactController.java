@@ -1,10 +1,17 @@
 package project.spring_restful_api.controller;
 
+import java.io.IOException;
 import java.util.List;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,66 +19,134 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.context.request.NativeWebRequest;
 
+import project.spring_restful_api.bulkhead.Bulkhead;
+import project.spring_restful_api.datasource.StatementBudget;
 import project.spring_restful_api.entity.User;
+import project.spring_restful_api.fairqueue.FairQueue;
+import project.spring_restful_api.model.ChangeFeedResponse;
 import project.spring_restful_api.model.ContactResponse;
 import project.spring_restful_api.model.CreateContactRequest;
 import project.spring_restful_api.model.PagingResponse;
 import project.spring_restful_api.model.SearchContactRequest;
 import project.spring_restful_api.model.UpdateContactRequest;
 import project.spring_restful_api.model.WebResponse;
+import project.spring_restful_api.ratelimit.RateLimit;
+import project.spring_restful_api.serializer.FieldSelection;
+import project.spring_restful_api.service.ChangeService;
 import project.spring_restful_api.service.ContactService;
+import project.spring_restful_api.util.ETagUtil;
 import org.springframework.web.bind.annotation.RequestParam;
 
 @RestController
+@RateLimit("contacts")
 public class ContactController {
 
     @Autowired
     private ContactService contactService;
 
-    @PostMapping(path = "/api/contacts", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Autowired
+    private ChangeService changeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FairQueue fairQueue;
+
+    @Autowired
+    private ResponseEncoding responseEncoding;
+
+    @Value("${app.contacts.stream-from-size:100}")
+    private int streamFromSize;
+
+    @StatementBudget(4)
+    @PostMapping(path = "/api/contacts")
     public WebResponse<ContactResponse> create(User user, @RequestBody CreateContactRequest request) {
         ContactResponse contactResponse = contactService.create(user, request);
         return WebResponse.<ContactResponse>builder().data(contactResponse).build();
     }
 
-    @GetMapping(path = "/api/contacts/{contactId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public WebResponse<ContactResponse> get(User user, @PathVariable("contactId") String contactId) {
-        ContactResponse contactResponse = contactService.get(user, contactId);
-        return WebResponse.<ContactResponse>builder().data(contactResponse).build();
+    @StatementBudget(3)
+    @GetMapping(path = "/api/contacts/{contactId}")
+    public ResponseEntity<WebResponse<ContactResponse>> get(User user, @PathVariable("contactId") String contactId,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            NativeWebRequest webRequest) {
+        String eTag = ETagUtil.toETag(contactService.version(user, contactId), fields,
+                responseEncoding.negotiate(webRequest));
+        if (ETagUtil.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+
+        ContactResponse contactResponse = contactService.get(user, contactId, fields);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(WebResponse.<ContactResponse>builder().data(contactResponse).build());
     }
 
-    @PatchMapping(path = "/api/contacts/{contactId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public WebResponse<ContactResponse> update(User user,
+    @StatementBudget(5)
+    @PatchMapping(path = "/api/contacts/{contactId}")
+    public ResponseEntity<WebResponse<ContactResponse>> update(User user,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             @RequestBody UpdateContactRequest request,
             @PathVariable("contactId") String contactId) {
         request.setId(contactId);
+        request.setVersion(ETagUtil.parseVersion(ifMatch));
         ContactResponse contactResponse = contactService.update(user, request);
-        return WebResponse.<ContactResponse>builder().data(contactResponse).build();
+        return ResponseEntity.ok()
+                .eTag(ETagUtil.toETag(contactResponse.getVersion()))
+                .body(WebResponse.<ContactResponse>builder().data(contactResponse).build());
     }
 
-    @DeleteMapping(path = "/api/contacts/{contactId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @StatementBudget(6)
+    @DeleteMapping(path = "/api/contacts/{contactId}")
     public WebResponse<String> delete(User user, @PathVariable("contactId") String contactId) {
         contactService.delete(user, contactId);
         return WebResponse.<String>builder().data("OK").build();
     }
 
-    @GetMapping(path = "/api/contacts", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Bulkhead("contact-search")
+    @RateLimit("contact-search")
+    @StatementBudget(3)
+    @GetMapping(path = "/api/contacts")
     public WebResponse<List<ContactResponse>> search(User user,
             @RequestParam(value = "name", required = false) String name,
             @RequestParam(value = "email", required = false) String email,
             @RequestParam(value = "phone", required = false) String phone,
             @RequestParam(value = "page", required = false, defaultValue = "0") Integer page,
-            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size) {
+            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(value = "fields", required = false) String fields,
+            NativeWebRequest webRequest,
+            HttpServletResponse response) throws IOException, InterruptedException {
         SearchContactRequest request = SearchContactRequest.builder()
                 .page(page)
                 .size(size)
                 .name(name)
                 .email(email)
                 .phone(phone)
+                .fields(fields)
                 .build();
 
-        Page<ContactResponse> contactResponses = contactService.search(user, request);
+        // Large JSON pages are written row by row from the cursor; returning null
+        // tells MVC the response has already been handled.
+        if (size >= streamFromSize
+                && MediaType.APPLICATION_JSON.equals(responseEncoding.negotiate(webRequest))) {
+            try (FairQueue.Permit permit = fairQueue.acquire(user, size);
+                    StreamingWebResponseWriter<ContactResponse> writer = new StreamingWebResponseWriter<>(objectMapper,
+                            FieldSelection.filters(fields), response)) {
+                writer.finish(contactService.search(user, request, writer));
+            }
+            return null;
+        }
+
+        Page<ContactResponse> contactResponses;
+        try (FairQueue.Permit permit = fairQueue.acquire(user, size)) {
+            contactResponses = contactService.search(user, request);
+        }
         return WebResponse.<List<ContactResponse>>builder()
                 .data(contactResponses.getContent())
                 .paging(PagingResponse.builder()
@@ -81,4 +156,17 @@ public class ContactController {
                         .build())
                 .build();
     }
+
+    @StatementBudget(4)
+    @GetMapping(path = "/api/contacts/changes")
+    public WebResponse<ChangeFeedResponse> changes(User user,
+            @RequestParam(value = "since", required = false, defaultValue = "0") Long since,
+            @RequestParam(value = "size", required = false, defaultValue = "100") Integer size)
+            throws InterruptedException {
+        ChangeFeedResponse changeFeedResponse;
+        try (FairQueue.Permit permit = fairQueue.acquire(user, size)) {
+            changeFeedResponse = changeService.changes(user, since, size);
+        }
+        return WebResponse.<ChangeFeedResponse>builder().data(changeFeedResponse).build();
+    }
 }
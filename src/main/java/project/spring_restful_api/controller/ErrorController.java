@@ -1,8 +1,10 @@
 package project.spring_restful_api.controller;
 
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.server.ResponseStatusException;
@@ -17,9 +19,17 @@ public class ErrorController {
                 .body(WebResponse.<String>builder().errors(exception.getMessage()).build());
     }
 
+    // The request deadline ran out before or while querying the database.
+    @ExceptionHandler({ TransactionTimedOutException.class, QueryTimeoutException.class })
+    public ResponseEntity<WebResponse<String>> deadlineExceeded(RuntimeException exception) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(WebResponse.<String>builder().errors("Request deadline exceeded").build());
+    }
+
     @ExceptionHandler(ResponseStatusException.class)
     public ResponseEntity<WebResponse<String>> apiException(ResponseStatusException exception) {
         return ResponseEntity.status(exception.getStatusCode())
+                .headers(exception.getHeaders())
                 .body(WebResponse.<String>builder().errors(exception.getReason()).build());
     }
 }
\ No newline at end of file
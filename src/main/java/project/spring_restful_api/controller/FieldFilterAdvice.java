@@ -0,0 +1,29 @@
+package project.spring_restful_api.controller;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+import project.spring_restful_api.serializer.FieldSelection;
+
+@RestControllerAdvice
+public class FieldFilterAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+            MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+
+        FilterProvider filters = FieldSelection.filters(servletRequest.getServletRequest().getParameter("fields"));
+        if (filters != null) {
+            bodyContainer.setFilters(filters);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package project.spring_restful_api.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Names the encoding MVC will write a response body in, before the body is
+ * written. Accept types are taken from the same content negotiation MVC
+ * uses, already sorted by quality and specificity, with JSON when the
+ * client has no preference.
+ */
+@Component
+public class ResponseEncoding {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private static final List<MediaType> ENCODINGS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+            APPLICATION_SMILE);
+
+    @Autowired
+    private ContentNegotiationManager contentNegotiationManager;
+
+    /**
+     * Fails with 406 when the Accept header is malformed or takes none of
+     * JSON, CBOR and Smile.
+     */
+    public MediaType negotiate(NativeWebRequest request) {
+        try {
+            for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(request)) {
+                if (accepted.getQualityValue() == 0) {
+                    continue;
+                }
+                for (MediaType encoding : ENCODINGS) {
+                    if (accepted.includes(encoding)) {
+                        return encoding;
+                    }
+                }
+            }
+        } catch (HttpMediaTypeNotAcceptableException exception) {
+            // a malformed Accept header, answered below
+        }
+        throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "Not acceptable");
+    }
+}
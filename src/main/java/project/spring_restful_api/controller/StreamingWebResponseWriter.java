@@ -0,0 +1,97 @@
+package project.spring_restful_api.controller;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import project.spring_restful_api.model.PagingResponse;
+
+/**
+ * Writes a {@code WebResponse<List<T>>} as JSON straight to the servlet
+ * response, one item at a time. Nothing is written until the first item, so an
+ * error raised before any row still reaches the ErrorController. A stream that
+ * fails after rows were sent is never closed into valid JSON, so the client
+ * can tell a truncated page from a complete one.
+ */
+class StreamingWebResponseWriter<T> implements Consumer<T>, Closeable {
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter writer;
+
+    private final HttpServletResponse response;
+
+    private JsonGenerator generator;
+
+    private boolean finished;
+
+    StreamingWebResponseWriter(ObjectMapper objectMapper, FilterProvider filters, HttpServletResponse response) {
+        ObjectWriter writer = filters != null ? objectMapper.writer(filters) : objectMapper.writer();
+        this.objectMapper = objectMapper;
+        this.writer = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.response = response;
+    }
+
+    @Override
+    public void accept(T item) {
+        try {
+            start();
+            writer.writeValue(generator, item);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void finish(PagingResponse paging) throws IOException {
+        start();
+        generator.writeEndArray();
+        generator.writeNullField("errors");
+        generator.writeFieldName("paging");
+        writer.writeValue(generator, paging);
+        generator.writeEndObject();
+        finished = true;
+    }
+
+    /**
+     * Without finish() the stream failed partway. A body still in the servlet
+     * buffer is dropped so the ErrorController can answer instead; a committed
+     * one is ended as it is, with the JSON left open.
+     */
+    @Override
+    public void close() throws IOException {
+        if (generator == null) {
+            return;
+        }
+
+        generator.close();
+        if (finished) {
+            return;
+        }
+        if (!response.isCommitted()) {
+            response.resetBuffer();
+            return;
+        }
+        response.getOutputStream().close();
+    }
+
+    private void start() throws IOException {
+        if (generator != null) {
+            return;
+        }
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        generator = objectMapper.createGenerator(response.getOutputStream())
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("data");
+    }
+}
@@ -1,19 +1,27 @@
 package project.spring_restful_api.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
 
+import project.spring_restful_api.bulkhead.Bulkhead;
+import project.spring_restful_api.datasource.ShardRouter;
+import project.spring_restful_api.datasource.StatementBudget;
 import project.spring_restful_api.entity.User;
 import project.spring_restful_api.model.RegisterUserRequest;
 import project.spring_restful_api.model.UpdateUserRequest;
 import project.spring_restful_api.model.UserResponse;
 import project.spring_restful_api.model.WebResponse;
 import project.spring_restful_api.service.UserService;
+import project.spring_restful_api.util.ETagUtil;
 
 @RestController
 public class UserController {
@@ -21,19 +29,39 @@ public class UserController {
     @Autowired
     private UserService userService;
 
-    @PostMapping(path = "/api/users", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ResponseEncoding responseEncoding;
+
+    @Bulkhead("auth")
+    @StatementBudget(2)
+    @PostMapping(path = "/api/users")
     public WebResponse<String> register(@RequestBody RegisterUserRequest request) {
-        userService.register(request);
+        shardRouter.onUser(request.getUsername(), () -> userService.register(request));
         return WebResponse.<String>builder().data("OK").build();
     }
 
-    @GetMapping(path = "/api/users/current", produces = MediaType.APPLICATION_JSON_VALUE)
-    public WebResponse<UserResponse> get(User user) {
+    @StatementBudget(1)
+    @GetMapping(path = "/api/users/current")
+    public ResponseEntity<WebResponse<UserResponse>> get(User user,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            NativeWebRequest webRequest) {
+        String eTag = ETagUtil.toETag(user.getVersion(), null, responseEncoding.negotiate(webRequest));
+        if (ETagUtil.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+
         UserResponse userResponse = userService.get(user);
-        return WebResponse.<UserResponse>builder().data(userResponse).build();
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(WebResponse.<UserResponse>builder().data(userResponse).build());
     }
 
-    @PatchMapping(path = "/api/users/current", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @StatementBudget(2)
+    @PatchMapping(path = "/api/users/current")
     public WebResponse<UserResponse> update(User user, @RequestBody UpdateUserRequest request) {
         UserResponse userResponse = userService.update(user, request);
         return WebResponse.<UserResponse>builder().data(userResponse).build();
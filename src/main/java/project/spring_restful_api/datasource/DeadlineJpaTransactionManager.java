@@ -0,0 +1,56 @@
+package project.spring_restful_api.datasource;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Caps the timeout of every new transaction at the remaining
+ * {@link RequestDeadline}, rounded up to whole seconds as JDBC query timeouts
+ * are. Hibernate sets what is left of it as the query timeout of each
+ * statement, so MySQL cancels the query once the client has given up. A
+ * request whose budget is already spent fails here, before it takes a
+ * connection.
+ *
+ * With replica reads on, read-only transactions not pinned to the primary run
+ * in {@link CacheMode#GET}: they still read the second-level and query caches
+ * but never fill them, so rows from a lagging replica cannot be cached as
+ * current.
+ */
+public class DeadlineJpaTransactionManager extends JpaTransactionManager {
+
+    private boolean replicaReads;
+
+    public void setReplicaReads(boolean replicaReads) {
+        this.replicaReads = replicaReads;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        if (replicaReads && definition.isReadOnly() && !ReadYourWritesContext.isPinned()) {
+            EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager
+                    .getResource(obtainEntityManagerFactory());
+            holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+    }
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        long remaining = RequestDeadline.remainingNanos();
+        if (remaining == Long.MAX_VALUE) {
+            return timeout;
+        }
+        if (remaining <= 0) {
+            throw new TransactionTimedOutException("Request deadline exceeded");
+        }
+
+        int seconds = (int) Math.min(Integer.MAX_VALUE, Math.ceilDiv(remaining, 1_000_000_000L));
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? seconds : Math.min(timeout, seconds);
+    }
+}
@@ -0,0 +1,24 @@
+package project.spring_restful_api.datasource;
+
+public final class EndpointContext {
+
+    public static final String NONE = "none";
+
+    private static final ThreadLocal<String> ENDPOINT = new ThreadLocal<>();
+
+    private EndpointContext() {
+    }
+
+    public static String current() {
+        String endpoint = ENDPOINT.get();
+        return endpoint != null ? endpoint : NONE;
+    }
+
+    public static void set(String endpoint) {
+        ENDPOINT.set(endpoint);
+    }
+
+    public static void clear() {
+        ENDPOINT.remove();
+    }
+}
@@ -0,0 +1,28 @@
+package project.spring_restful_api.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Names the handler serving the current request, for example
+ * ContactController.search, so connection pool metrics can be tagged by it.
+ */
+public class EndpointContextInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            EndpointContext.set(handlerMethod.getBeanType().getSimpleName() + "."
+                    + handlerMethod.getMethod().getName());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception exception) {
+        EndpointContext.clear();
+    }
+}
@@ -0,0 +1,73 @@
+package project.spring_restful_api.datasource;
+
+import java.util.concurrent.TimeUnit;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps Hikari's own hikaricp.* pool metrics, including pending threads per
+ * pool, and adds acquire time, hold time and timeouts tagged by the endpoint
+ * that asked for the connection. Hikari calls the tracker on the borrowing
+ * thread, so {@link EndpointContext} still names the request.
+ */
+@Component
+public class EndpointMetricsTrackerFactory implements MetricsTrackerFactory {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        IMetricsTracker delegate = new MicrometerMetricsTrackerFactory(meterRegistry).create(poolName, poolStats);
+
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+                timer("app.datasource.connections.acquire", poolName)
+                        .record(elapsedAcquiredNanos, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+                timer("app.datasource.connections.hold", poolName)
+                        .record(elapsedBorrowedMillis, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                delegate.recordConnectionTimeout();
+                Counter.builder("app.datasource.connections.timeout")
+                        .tag("pool", poolName)
+                        .tag("endpoint", EndpointContext.current())
+                        .register(meterRegistry)
+                        .increment();
+            }
+
+            @Override
+            public void close() {
+                delegate.close();
+            }
+        };
+    }
+
+    private Timer timer(String name, String poolName) {
+        return Timer.builder(name)
+                .tag("pool", poolName)
+                .tag("endpoint", EndpointContext.current())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,61 @@
+package project.spring_restful_api.datasource;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Every write response carries an X-Read-Your-Writes token (epoch millis until
+ * which replicas may still be behind). A client that sends the token back gets
+ * its read-only transactions served by the primary until it expires. A token
+ * further ahead than the window cannot have been issued here and is ignored,
+ * so a client cannot pin itself to the primary indefinitely.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Read-Your-Writes";
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod());
+
+        if (write) {
+            response.setHeader(HEADER, String.valueOf(now + window.toMillis()));
+        }
+
+        long pinnedUntil = pinnedUntil(request.getHeader(HEADER));
+        if (write || (pinnedUntil > now && pinnedUntil <= now + window.toMillis())) {
+            ReadYourWritesContext.pin();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+    }
+
+    private long pinnedUntil(String token) {
+        if (token == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(token.trim());
+        } catch (NumberFormatException exception) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package project.spring_restful_api.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private List<String> urls = new ArrayList<>();
+
+    private String username;
+
+    private String password;
+
+    private int maximumPoolSize = 50;
+
+    /**
+     * How long a read waits for a replica connection before moving on to the
+     * next replica or the primary; far below Hikari's 30s default.
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    private Duration validationTimeout = Duration.ofMillis(500);
+
+    private Duration failureCooldown = Duration.ofSeconds(30);
+
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,90 @@
+package project.spring_restful_api.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Read-only side of the LazyConnectionDataSourceProxy: hands out replica
+ * connections round-robin, skips a replica for a cooldown period after it
+ * fails to give a connection, and falls back to the primary when every
+ * replica is down or the request is pinned by {@link ReadYourWritesContext}.
+ * Replica pools use a short connection timeout, so a dead replica costs a
+ * read about a second rather than thirty.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final long failureCooldownMillis;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, Duration failureCooldown) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.failureCooldownMillis = failureCooldown.toMillis();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadYourWritesContext.isPinned() || replicas.isEmpty()) {
+            return primary.getConnection();
+        }
+
+        long now = System.currentTimeMillis();
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.downUntil > now) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException exception) {
+                // Hikari only attaches a cause when it cannot open connections;
+                // a pool that is merely busy is tried again on the next read.
+                if (exception.getCause() == null) {
+                    continue;
+                }
+                replica.downUntil = now + failureCooldownMillis;
+                log.warn("Replica {} unavailable, skipping it for {} ms", replica.dataSource.getJdbcUrl(),
+                        failureCooldownMillis, exception);
+            }
+        }
+
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static class Replica {
+
+        private final HikariDataSource dataSource;
+
+        private volatile long downUntil;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package project.spring_restful_api.datasource;
+
+import java.time.Duration;
+
+/**
+ * The instant by which the current request must be answered, set from
+ * X-Request-Timeout or the endpoint's default. Transactions take the remaining
+ * budget as their timeout, which Hibernate and JdbcTemplate apply as the JDBC
+ * query timeout of every statement.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void start(Duration timeout) {
+        DEADLINE.set(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Nanoseconds left, zero or negative once exceeded, or Long.MAX_VALUE when
+     * the request has no deadline.
+     */
+    public static long remainingNanos() {
+        Long deadline = DEADLINE.get();
+        return deadline != null ? deadline - System.nanoTime() : Long.MAX_VALUE;
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+}
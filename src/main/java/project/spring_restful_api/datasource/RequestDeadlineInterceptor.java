@@ -0,0 +1,60 @@
+package project.spring_restful_api.datasource;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Starts the {@link RequestDeadline} of a request: X-Request-Timeout
+ * (milliseconds or a duration such as 2s) capped by the endpoint's configured
+ * deadline. Runs after the {@link EndpointContextInterceptor}.
+ */
+@Component
+@EnableConfigurationProperties(RequestDeadlineProperties.class)
+public class RequestDeadlineInterceptor implements HandlerInterceptor {
+
+    public static final String HEADER = "X-Request-Timeout";
+
+    @Autowired
+    private RequestDeadlineProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Duration timeout = properties.getEndpoints().getOrDefault(EndpointContext.current(),
+                properties.getDefaultTimeout());
+
+        String header = request.getHeader(HEADER);
+        if (header != null) {
+            Duration requested = parse(header);
+            timeout = timeout == null || requested.compareTo(timeout) < 0 ? requested : timeout;
+        }
+
+        if (timeout != null) {
+            RequestDeadline.start(timeout);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception exception) {
+        RequestDeadline.clear();
+    }
+
+    private Duration parse(String header) {
+        try {
+            return DurationStyle.detectAndParse(header.trim(), ChronoUnit.MILLIS);
+        } catch (IllegalArgumentException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + HEADER);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package project.spring_restful_api.datasource;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.request-deadline")
+public class RequestDeadlineProperties {
+
+    /**
+     * Deadline of endpoints without their own, none when unset.
+     */
+    private Duration defaultTimeout;
+
+    /**
+     * Deadline by endpoint name, for example ContactController.search.
+     */
+    private Map<String, Duration> endpoints = new HashMap<>();
+}
@@ -0,0 +1,25 @@
+package project.spring_restful_api.datasource;
+
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return SHARD.get();
+    }
+
+    public static void set(Integer shard) {
+        if (shard == null) {
+            SHARD.remove();
+        } else {
+            SHARD.set(shard);
+        }
+    }
+
+    public static void clear() {
+        SHARD.remove();
+    }
+}
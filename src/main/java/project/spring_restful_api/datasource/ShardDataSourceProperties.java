@@ -0,0 +1,22 @@
+package project.spring_restful_api.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource.shards")
+public class ShardDataSourceProperties {
+
+    private List<String> urls = new ArrayList<>();
+
+    private String username;
+
+    private String password;
+
+    private int maximumPoolSize = 50;
+
+    private boolean rebalanceOnStartup = false;
+}
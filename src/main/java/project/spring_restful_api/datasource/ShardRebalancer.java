@@ -0,0 +1,105 @@
+package project.spring_restful_api.datasource;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves every user whose rows sit on a shard other than the one
+ * {@link ShardRouter} assigns, together with its contacts, addresses and
+ * change feed. Each user is first copied to the target shard, replacing any
+ * partial copy left by an interrupted run, and then deleted from the source
+ * shard. A run can therefore be repeated safely. It is meant to be run while writes are
+ * stopped, for example after changing the shard list.
+ */
+@Slf4j
+public class ShardRebalancer {
+
+    private final List<JdbcTemplate> databases;
+
+    private final List<TransactionTemplate> transactions;
+
+    private final ShardRouter shardRouter;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ShardRebalancer(List<? extends DataSource> shards, ShardRouter shardRouter,
+            EntityManagerFactory entityManagerFactory) {
+        this.databases = shards.stream().map(JdbcTemplate::new).toList();
+        this.transactions = shards.stream()
+                .map(shard -> new TransactionTemplate(new DataSourceTransactionManager(shard)))
+                .toList();
+        this.shardRouter = shardRouter;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public int rebalance() {
+        int moved = 0;
+        for (int source = 0; source < databases.size(); source++) {
+            List<String> usernames = databases.get(source).queryForList("SELECT username FROM users", String.class);
+            for (String username : usernames) {
+                int target = shardRouter.shardOf(username);
+                if (target != source) {
+                    move(username, source, target);
+                    moved++;
+                }
+            }
+        }
+
+        if (moved > 0) {
+            entityManagerFactory.getCache().evictAll();
+            log.info("Moved {} users between shards", moved);
+        }
+        return moved;
+    }
+
+    private void move(String username, int source, int target) {
+        JdbcTemplate from = databases.get(source);
+        JdbcTemplate to = databases.get(target);
+
+        List<Map<String, Object>> users = from.queryForList("SELECT * FROM users WHERE username = ?", username);
+        List<Map<String, Object>> contacts = from.queryForList("SELECT * FROM contacts WHERE username = ?", username);
+        List<Map<String, Object>> addresses = from.queryForList("SELECT a.* FROM addresses a "
+                + "JOIN contacts c ON c.id = a.contact_id WHERE c.username = ?", username);
+        List<Map<String, Object>> cursors = from.queryForList("SELECT * FROM sync_cursors WHERE username = ?",
+                username);
+        List<Map<String, Object>> changes = from.queryForList("SELECT * FROM sync_changes WHERE username = ?",
+                username);
+
+        transactions.get(target).executeWithoutResult(status -> {
+            deleteUser(to, username);
+            insert(to, "users", users);
+            insert(to, "contacts", contacts);
+            insert(to, "addresses", addresses);
+            insert(to, "sync_cursors", cursors);
+            insert(to, "sync_changes", changes);
+        });
+        transactions.get(source).executeWithoutResult(status -> deleteUser(from, username));
+    }
+
+    private static void deleteUser(JdbcTemplate database, String username) {
+        database.update("DELETE a FROM addresses a JOIN contacts c ON c.id = a.contact_id WHERE c.username = ?",
+                username);
+        database.update("DELETE FROM contacts WHERE username = ?", username);
+        database.update("DELETE FROM users WHERE username = ?", username);
+        database.update("DELETE FROM sync_cursors WHERE username = ?", username);
+        database.update("DELETE FROM sync_changes WHERE username = ?", username);
+    }
+
+    private static void insert(JdbcTemplate database, String table, List<Map<String, Object>> rows) {
+        for (Map<String, Object> row : rows) {
+            String columns = String.join(", ", row.keySet());
+            String values = String.join(", ", Collections.nCopies(row.size(), "?"));
+            database.update("INSERT INTO " + table + " (" + columns + ") VALUES (" + values + ")",
+                    row.values().toArray());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package project.spring_restful_api.datasource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import project.spring_restful_api.util.JwtUtil;
+
+/**
+ * Maps a username to the shard that holds the user and everything hanging off
+ * it. Without app.datasource.shards.urls there is a single shard and every
+ * call stays on spring.datasource.
+ */
+@Component
+@EnableConfigurationProperties(ShardDataSourceProperties.class)
+public class ShardRouter {
+    @Autowired
+    private ShardDataSourceProperties properties;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    public int shardCount() {
+        return Math.max(1, properties.getUrls().size());
+    }
+
+    public int shardOf(String username) {
+        if (shardCount() == 1 || username == null) {
+            return 0;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(username.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shardCount());
+    }
+
+    public int shardOfToken(String token) {
+        if (shardCount() == 1) {
+            return 0;
+        }
+
+        try {
+            return shardOf(jwtUtil.extractUsername(token));
+        } catch (ExpiredJwtException exception) {
+            return shardOf(exception.getClaims().getSubject());
+        } catch (JwtException | IllegalArgumentException exception) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
+        }
+    }
+
+    public <T> T onUser(String username, Supplier<T> work) {
+        return onShard(shardOf(username), work);
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        Integer previous = ShardContext.current();
+        ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    public void onUser(String username, Runnable work) {
+        onUser(username, () -> {
+            work.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,18 @@
+package project.spring_restful_api.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements one call of a controller method may run
+ * with cold caches, token lookup included. Going over it is logged and counted
+ * as app.sql.budget.exceeded, and fails the MockMvc tests.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+
+    int value();
+}
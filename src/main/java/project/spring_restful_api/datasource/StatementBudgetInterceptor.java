@@ -0,0 +1,50 @@
+package project.spring_restful_api.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@Component
+@Slf4j
+public class StatementBudgetInterceptor implements HandlerInterceptor {
+
+    public static final String COUNT_ATTRIBUTE = StatementBudgetInterceptor.class.getName() + ".count";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        StatementCounter.start();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception exception) {
+        int count = StatementCounter.stop();
+        request.setAttribute(COUNT_ATTRIBUTE, count);
+
+        String endpoint = EndpointContext.current();
+        DistributionSummary.builder("app.sql.statements")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(count);
+
+        if (handler instanceof HandlerMethod handlerMethod) {
+            StatementBudget budget = handlerMethod.getMethodAnnotation(StatementBudget.class);
+            if (budget != null && count > budget.value()) {
+                Counter.builder("app.sql.budget.exceeded").tag("endpoint", endpoint).register(meterRegistry)
+                        .increment();
+                log.warn("{} ran {} SQL statements, budget is {}", endpoint, count, budget.value());
+            }
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package project.spring_restful_api.entity;
 
 import java.util.List;
+import java.util.UUID;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.type.SqlTypes;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -14,10 +21,16 @@ import lombok.Setter;
 @NoArgsConstructor
 @Entity
 @Table(name = "contacts")
+@Cacheable
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "contacts")
+@SQLRestriction("deleted_at is null")
 
 public class Contact {
     @Id
-    private String id;
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID id;
 
     @Column(name = "first_name")
     private String firstName;
@@ -29,7 +42,13 @@ public class Contact {
 
     private String email;
 
-    @ManyToOne
+    @Version
+    private Long version;
+
+    @Column(name = "deleted_at")
+    private Long deletedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "username", referencedColumnName = "username")
     private User user;
 
@@ -0,0 +1,43 @@
+package project.spring_restful_api.entity;
+
+import java.util.UUID;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "sync_changes")
+
+public class SyncChange {
+
+    public static final String CONTACT = "contact";
+
+    public static final String ADDRESS = "address";
+
+    @Id
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "entity_id", columnDefinition = "BINARY(16)")
+    private UUID entityId;
+
+    private String username;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "contact_id", columnDefinition = "BINARY(16)")
+    private UUID contactId;
+
+    @Column(name = "entity_type")
+    private String entityType;
+
+    private boolean deleted;
+
+    private Long seq;
+}
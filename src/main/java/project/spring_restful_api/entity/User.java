@@ -3,6 +3,12 @@ package project.spring_restful_api.entity;
 import java.util.List;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.OptimisticLock;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -14,6 +20,10 @@ import lombok.Setter;
 @NoArgsConstructor
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "user-tokens")
+@DynamicUpdate
 
 public class User {
     @Id
@@ -23,11 +33,25 @@ public class User {
 
     private String name;
 
+    // Logins and logouts do not change the profile version (its ETag).
+    @NaturalId(mutable = true)
+    @OptimisticLock(excluded = true)
     private String token;
 
     @Column(name = "token_expired_at")
+    @OptimisticLock(excluded = true)
     private Long tokenExpiredAt;
 
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "user")
     private List<Contact> contacts;
+
+    public User(String username, String name, Long tokenExpiredAt, Long version) {
+        this.username = username;
+        this.name = name;
+        this.tokenExpiredAt = tokenExpiredAt;
+        this.version = version;
+    }
 }
@@ -0,0 +1,261 @@
+package project.spring_restful_api.fairqueue;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import project.spring_restful_api.datasource.RequestDeadline;
+import project.spring_restful_api.entity.User;
+
+/**
+ * Admits expensive calls through app.fair-queue.permits slots shared by all
+ * users. While slots are free calls pass straight through. Once they are
+ * taken, each user waits in their own queue and freed slots are handed out by
+ * deficit round robin: every round credits a waiting user quantum x weight,
+ * and a call runs once its user's credit covers its cost, its page size
+ * clamped to app.fair-queue.max-cost. A tenant with many
+ * large searches then only delays others by its share instead of by its
+ * whole backlog.
+ *
+ * Waits are recorded per user in app.fair-queue.wait and timeouts in
+ * app.fair-queue.rejected. Both are tagged by user, and only users who
+ * actually had to queue appear in them.
+ */
+@Component
+@EnableConfigurationProperties(FairQueueProperties.class)
+public class FairQueue {
+
+    private final FairQueueProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Map<String, UserQueue> queues = new HashMap<>();
+
+    private final Deque<UserQueue> rounds = new ArrayDeque<>();
+
+    // The queue at the front whose turn has already been credited; it keeps
+    // the turn only while its next waiter is covered.
+    private UserQueue serving;
+
+    private int available;
+
+    private int waiting;
+
+    public FairQueue(FairQueueProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.available = properties.getPermits();
+
+        Gauge.builder("app.fair-queue.waiting", this, queue -> queue.waiting).register(meterRegistry);
+        Gauge.builder("app.fair-queue.users", this, queue -> queue.rounds.size()).register(meterRegistry);
+    }
+
+    /**
+     * Waits for a slot for a call of the given cost, failing with 503 after
+     * app.fair-queue.max-wait, or with 504 once the request deadline passes
+     * first. Close the returned permit when the call is done.
+     */
+    public Permit acquire(User user, long cost) throws InterruptedException {
+        String username = user.getUsername();
+        Waiter waiter;
+        lock.lock();
+        try {
+            if (available > 0 && rounds.isEmpty()) {
+                available--;
+                return new Permit();
+            }
+
+            waiter = new Waiter(Math.clamp(cost, 1, Math.max(1, properties.getMaxCost())), lock.newCondition());
+            UserQueue queue = queues.computeIfAbsent(username, UserQueue::new);
+            if (queue.waiters.isEmpty()) {
+                rounds.addLast(queue);
+            }
+            queue.waiters.addLast(waiter);
+            waiting++;
+            dispatch();
+
+            long remaining = Math.min(properties.getMaxWait().toNanos(), RequestDeadline.remainingNanos());
+            try {
+                while (!waiter.granted && remaining > 0) {
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    available++;
+                    dispatch();
+                } else {
+                    remove(queue, waiter);
+                }
+                throw e;
+            }
+            if (!waiter.granted) {
+                remove(queue, waiter);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!waiter.granted) {
+            if (RequestDeadline.remainingNanos() <= 0) {
+                throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded");
+            }
+            Counter.builder("app.fair-queue.rejected").tag("user", username).register(meterRegistry).increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent requests");
+        }
+        Timer.builder("app.fair-queue.wait").tag("user", username).register(meterRegistry)
+                .record(System.nanoTime() - waiter.since, TimeUnit.NANOSECONDS);
+        return new Permit();
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            available++;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held.
+    private void dispatch() {
+        while (available > 0 && !rounds.isEmpty()) {
+            UserQueue queue = rounds.peekFirst();
+            Waiter waiter = queue.waiters.peekFirst();
+            if (queue.deficit < waiter.cost) {
+                if (queue == serving) {
+                    rounds.addLast(rounds.pollFirst());
+                    serving = null;
+                }
+                skipToCovered();
+                continue;
+            }
+
+            queue.deficit -= waiter.cost;
+            queue.waiters.pollFirst();
+            waiting--;
+            available--;
+            waiter.granted = true;
+            waiter.condition.signal();
+            if (queue.waiters.isEmpty()) {
+                retire(queue);
+            }
+        }
+    }
+
+    // Called with the lock held. Does in one pass what visiting one queue per
+    // turn would: each visit credits the queue, and the first visit after
+    // which a queue's head waiter is covered ends the pass. A queue missing k
+    // credits is covered on its k-th visit, at turn (k - 1) x users +
+    // position; one already covered, say after a waiter left it, is covered
+    // on its first visit. Queues up to and including the covered one have had
+    // one more visit than those behind it. The covered queue is left at the
+    // front holding its turn.
+    private void skipToCovered() {
+        int users = rounds.size();
+        long firstTurn = Long.MAX_VALUE;
+        int position = 0;
+        for (UserQueue queue : rounds) {
+            long missing = queue.waiters.peekFirst().cost - queue.deficit;
+            long visits = missing > 0 ? (missing + credit(queue) - 1) / credit(queue) : 1;
+            firstTurn = Math.min(firstTurn, (visits - 1) * users + position);
+            position++;
+        }
+
+        long fullRounds = firstTurn / users;
+        int covered = (int) (firstTurn % users);
+        position = 0;
+        for (UserQueue queue : rounds) {
+            queue.deficit += credit(queue) * (position <= covered ? fullRounds + 1 : fullRounds);
+            position++;
+        }
+        for (int i = 0; i < covered; i++) {
+            rounds.addLast(rounds.pollFirst());
+        }
+        serving = rounds.peekFirst();
+    }
+
+    private long credit(UserQueue queue) {
+        return Math.max(1, properties.getQuantum() * properties.getWeights().getOrDefault(queue.username, 1));
+    }
+
+    // Called with the lock held.
+    private void remove(UserQueue queue, Waiter waiter) {
+        if (queue.waiters.remove(waiter)) {
+            waiting--;
+            if (queue.waiters.isEmpty()) {
+                retire(queue);
+            }
+        }
+    }
+
+    // An idle user keeps no credit, as in deficit round robin.
+    private void retire(UserQueue queue) {
+        queue.deficit = 0;
+        if (queue == serving) {
+            serving = null;
+        }
+        rounds.remove(queue);
+        queues.remove(queue.username);
+    }
+
+    public final class Permit implements AutoCloseable {
+
+        private boolean released;
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release();
+            }
+        }
+    }
+
+    private static final class UserQueue {
+
+        private final String username;
+
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+
+        private long deficit;
+
+        private UserQueue(String username) {
+            this.username = username;
+        }
+    }
+
+    private static final class Waiter {
+
+        private final long cost;
+
+        private final Condition condition;
+
+        private final long since = System.nanoTime();
+
+        private boolean granted;
+
+        private Waiter(long cost, Condition condition) {
+            this.cost = cost;
+            this.condition = condition;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package project.spring_restful_api.fairqueue;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.fair-queue")
+public class FairQueueProperties {
+
+    /**
+     * Calls admitted at once, across all users.
+     */
+    private int permits = 20;
+
+    /**
+     * Cost (rows requested) credited to each waiting user per round, multiplied
+     * by the user's weight.
+     */
+    private long quantum = 100;
+
+    /**
+     * Highest cost charged for one call, whatever page size it asked for.
+     */
+    private long maxCost = 1000;
+
+    private Duration maxWait = Duration.ofSeconds(2);
+
+    /**
+     * Weight by username, defaults to 1.
+     */
+    private Map<String, Integer> weights = new HashMap<>();
+}
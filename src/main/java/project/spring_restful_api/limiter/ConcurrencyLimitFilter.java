@@ -0,0 +1,72 @@
+package project.spring_restful_api.limiter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import project.spring_restful_api.model.WebResponse;
+
+/**
+ * Sheds load before it reaches Tomcat's worker queue and the connection pool.
+ * A request over the adaptive limit for its {@link RequestPriority} is
+ * answered 503 at once, and the latency of every admitted request feeds the
+ * limit back.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final GradientConcurrencyLimiter limiter;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<RequestPriority, Counter> rejected = new EnumMap<>(RequestPriority.class);
+
+    public ConcurrencyLimitFilter(GradientConcurrencyLimiter limiter, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+
+        Gauge.builder("app.concurrency.limit", limiter, GradientConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("app.concurrency.in-flight", limiter, GradientConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+        for (RequestPriority priority : RequestPriority.values()) {
+            rejected.put(priority, Counter.builder("app.concurrency.rejected")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestPriority priority = RequestPriority.of(request);
+        if (!limiter.tryAcquire(priority)) {
+            rejected.get(priority).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    WebResponse.<String>builder().errors("Server overloaded").build());
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = response.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limiter.release(System.nanoTime() - start, completed);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package project.spring_restful_api.limiter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 50;
+
+    private int minLimit = 10;
+
+    private int maxLimit = 500;
+
+    /**
+     * How far latency may rise above the long-term average before the limit
+     * shrinks.
+     */
+    private double tolerance = 1.5;
+
+    /**
+     * Weight of each new estimate in the limit, between 0 and 1.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Number of samples averaged into the long-term latency.
+     */
+    private int longWindow = 600;
+}
@@ -0,0 +1,94 @@
+package project.spring_restful_api.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that follows observed latency (a gradient limiter). Each
+ * sample is compared with the long-term average latency: while latency stays
+ * within the tolerance the limit grows by about sqrt(limit), and once requests
+ * start queueing it shrinks in proportion. Admission is a lock-free check of
+ * the in-flight count; only the limit update takes a lock, a ReentrantLock so
+ * a virtual thread waiting for it does not pin its carrier.
+ */
+public class GradientConcurrencyLimiter {
+
+    private final ConcurrencyLimitProperties properties;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile double limit;
+
+    private double longRtt;
+
+    private long samples;
+
+    public GradientConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+    }
+
+    public boolean tryAcquire(RequestPriority priority) {
+        double allowed = Math.max(1, limit * priority.share());
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an acquired slot. Only requests that completed normally should
+     * pass sample, so fast failures do not pull the latency baseline down.
+     */
+    public void release(long rttNanos, boolean sample) {
+        int current = inFlight.getAndDecrement();
+        if (sample && rttNanos > 0) {
+            update(rttNanos, current);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(long rtt, int current) {
+        lock.lock();
+        try {
+            adjust(rtt, current);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held.
+    private void adjust(long rtt, int current) {
+        samples++;
+        longRtt = samples == 1 ? rtt : longRtt + (rtt - longRtt) / Math.min(samples, properties.getLongWindow());
+
+        // After an overload the average is inflated; let it recover faster.
+        if (longRtt / rtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // Too few requests to tell whether the limit is right.
+        if (current < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getTolerance() * longRtt / rtt));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - properties.getSmoothing()) + estimate * properties.getSmoothing();
+        limit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), smoothed));
+    }
+}
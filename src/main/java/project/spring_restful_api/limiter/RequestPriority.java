@@ -0,0 +1,41 @@
+package project.spring_restful_api.limiter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+
+/**
+ * Request classes in the order they are shed. Each may only fill its share of
+ * the current concurrency limit, so as the limit shrinks bulk searches are
+ * rejected first and logins last.
+ */
+public enum RequestPriority {
+
+    CRITICAL(1.0),
+    WRITE(0.9),
+    READ(0.75),
+    BULK(0.5);
+
+    private final double share;
+
+    RequestPriority(double share) {
+        this.share = share;
+    }
+
+    public double share() {
+        return share;
+    }
+
+    public static RequestPriority of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/auth/")) {
+            return CRITICAL;
+        }
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return WRITE;
+        }
+        if (path.equals("/api/contacts") || path.equals("/api/contacts/changes")) {
+            return BULK;
+        }
+        return READ;
+    }
+}
@@ -1,16 +1,25 @@
 package project.spring_restful_api.model;
 
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import project.spring_restful_api.entity.Address;
 
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonFilter(WebResponse.FIELD_FILTER)
 public class AddressResponse {
 
+    public static final List<String> FIELDS = List.of("id", "street", "city", "province", "country",
+            "postalCode");
+
     private String id;
 
     private String street;
@@ -22,4 +31,19 @@ public class AddressResponse {
     private String country;
 
     private String postalCode;
+
+    @JsonIgnore
+    private Long version;
+
+    public static AddressResponse from(Address address) {
+        return AddressResponse.builder()
+                .id(address.getId().toString())
+                .street(address.getStreet())
+                .city(address.getCity())
+                .province(address.getProvince())
+                .country(address.getCountry())
+                .postalCode(address.getPostalCode())
+                .version(address.getVersion())
+                .build();
+    }
 }
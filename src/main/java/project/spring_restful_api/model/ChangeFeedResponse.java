@@ -0,0 +1,21 @@
+package project.spring_restful_api.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ChangeFeedResponse {
+
+    private List<ChangeResponse> changes;
+
+    private Long cursor;
+
+    private Boolean hasMore;
+}
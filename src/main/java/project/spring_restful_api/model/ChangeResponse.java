@@ -0,0 +1,29 @@
+package project.spring_restful_api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeResponse {
+
+    private Long seq;
+
+    private String type;
+
+    private String id;
+
+    private String contactId;
+
+    private Boolean deleted;
+
+    private ContactResponse contact;
+
+    private AddressResponse address;
+}
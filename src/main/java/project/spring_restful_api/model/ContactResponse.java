@@ -1,16 +1,24 @@
 package project.spring_restful_api.model;
 
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import project.spring_restful_api.entity.Contact;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@JsonFilter(WebResponse.FIELD_FILTER)
 public class ContactResponse {
 
+    public static final List<String> FIELDS = List.of("id", "firstName", "lastName", "email", "phone");
+
     private String id;
 
     private String firstName;
@@ -20,4 +28,18 @@ public class ContactResponse {
     private String email;
 
     private String phone;
+
+    @JsonIgnore
+    private Long version;
+
+    public static ContactResponse from(Contact contact) {
+        return ContactResponse.builder()
+                .id(contact.getId().toString())
+                .firstName(contact.getFirstName())
+                .lastName(contact.getLastName())
+                .email(contact.getEmail())
+                .phone(contact.getPhone())
+                .version(contact.getVersion())
+                .build();
+    }
 }
\ No newline at end of file
@@ -23,4 +23,6 @@ public class SearchContactRequest {
 
     @NotNull
     private Integer size;
+
+    private String fields;
 }
@@ -2,6 +2,7 @@ package project.spring_restful_api.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -22,6 +23,9 @@ public class UpdateAddressRequest {
     @NotBlank
     private String addressId;
 
+    @JsonIgnore
+    private Long version;
+
     @Size(max = 200)
     private String street;
 
@@ -31,7 +35,7 @@ public class UpdateAddressRequest {
     @Size(max = 100)
     private String province;
 
-    @NotBlank
+    @Pattern(regexp = ".*\\S.*", message = "must not be blank")
     @Size(max = 100)
     private String country;
 
@@ -3,6 +3,7 @@ package project.spring_restful_api.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,7 +20,10 @@ public class UpdateContactRequest {
     @NotBlank
     private String id;
 
-    @NotBlank
+    @JsonIgnore
+    private Long version;
+
+    @Pattern(regexp = ".*\\S.*", message = "must not be blank")
     @Size(max = 100)
     private String firstName;
 
@@ -11,6 +11,10 @@ import lombok.NoArgsConstructor;
 @Builder
 public class WebResponse<T> {
 
+    public static final String FIELD_FILTER = "fieldFilter";
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
     private T data;
 
     private String errors;
@@ -0,0 +1,56 @@
+package project.spring_restful_api.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rejects a request with 429 and Retry-After once its X-API-TOKEN has used up
+ * the limit of the handler's {@link RateLimit} group. Runs before the
+ * bulkheads so a throttled client never takes a permit or a connection.
+ * Requests without a token are left to the UserArgumentResolver.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String group = groupOf(handler);
+        String token = request.getHeader("X-API-TOKEN");
+        if (group == null || token == null) {
+            return true;
+        }
+
+        long wait = rateLimiter.tryAcquire(group, token);
+        if (wait > 0) {
+            Counter.builder("app.rate-limit.rejected").tag("group", group).register(meterRegistry).increment();
+            throw new RateLimitExceededException(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999)));
+        }
+        return true;
+    }
+
+    private static String groupOf(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return null;
+        }
+
+        RateLimit rateLimit = handlerMethod.getMethodAnnotation(RateLimit.class);
+        if (rateLimit == null) {
+            rateLimit = handlerMethod.getBeanType().getAnnotation(RateLimit.class);
+        }
+        return rateLimit != null ? rateLimit.value() : null;
+    }
+}
@@ -0,0 +1,34 @@
+package project.spring_restful_api.ratelimit;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private Map<String, Limit> limits = new HashMap<>();
+
+    /**
+     * Upper bound of tokens tracked per group; the least recently used bucket is
+     * evicted beyond it.
+     */
+    private long maxTokens = 100_000;
+
+    @Data
+    public static class Limit {
+
+        private int requests;
+
+        private Duration period = Duration.ofSeconds(1);
+
+        /**
+         * Requests allowed back to back after an idle period, defaults to requests.
+         */
+        private int burst;
+    }
+}
@@ -0,0 +1,86 @@
+package project.spring_restful_api.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import project.spring_restful_api.util.JwtUtil;
+
+/**
+ * Keeps one {@link TokenBucket} per API token and group in a bounded Caffeine
+ * cache. A bucket expires once it has been idle long enough to refill
+ * completely. Beyond app.rate-limit.max-tokens the cache also evicts buckets
+ * that are not yet full, and their tokens start again with a full budget.
+ *
+ * Only tokens that pass the JWT signature check get a bucket of their own.
+ * Unsigned or forged tokens share one bucket per group, so random tokens
+ * cannot push real users' buckets out of the cache.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter {
+
+    private static final String UNVERIFIED = "";
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final Map<String, Group> groups = new ConcurrentHashMap<>();
+
+    /**
+     * Takes one request from the token's budget in the group, returning 0 when
+     * allowed or the nanoseconds to wait otherwise. Groups without a configured
+     * limit always allow.
+     */
+    public long tryAcquire(String group, String token) {
+        Group limited = groups.computeIfAbsent(group, this::createGroup);
+        if (limited.buckets == null) {
+            return 0;
+        }
+
+        long now = System.nanoTime();
+        return limited.buckets.get(bucketKey(token), key -> new TokenBucket(limited.interval, limited.capacity, now))
+                .tryAcquire(now);
+    }
+
+    // An expired token is still signed by us, so it keeps its own bucket.
+    private String bucketKey(String token) {
+        try {
+            jwtUtil.extractUsername(token);
+            return token;
+        } catch (ExpiredJwtException exception) {
+            return token;
+        } catch (JwtException | IllegalArgumentException exception) {
+            return UNVERIFIED;
+        }
+    }
+
+    private Group createGroup(String name) {
+        RateLimitProperties.Limit limit = properties.getLimits().get(name);
+        if (limit == null || limit.getRequests() <= 0) {
+            return new Group(0, 0, null);
+        }
+
+        long interval = Math.max(1, limit.getPeriod().toNanos() / limit.getRequests());
+        long capacity = interval * (limit.getBurst() > 0 ? limit.getBurst() : limit.getRequests());
+        Cache<String, TokenBucket> buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTokens())
+                .expireAfterAccess(Duration.ofNanos(capacity))
+                .build();
+        return new Group(interval, capacity, buckets);
+    }
+
+    private record Group(long interval, long capacity, Cache<String, TokenBucket> buckets) {
+    }
+}
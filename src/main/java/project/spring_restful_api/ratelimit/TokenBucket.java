@@ -0,0 +1,41 @@
+package project.spring_restful_api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as the single instant at which it would be full again
+ * (GCRA), so taking a token is one compare-and-set without locks or a refill
+ * thread.
+ */
+final class TokenBucket {
+
+    private final long interval;
+
+    private final long capacity;
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(long interval, long capacity, long now) {
+        this.interval = interval;
+        this.capacity = capacity;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one token, returning 0 on success or the nanoseconds until one is
+     * available.
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - capacity;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
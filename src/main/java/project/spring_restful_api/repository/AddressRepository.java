@@ -1,17 +1,30 @@
 package project.spring_restful_api.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import project.spring_restful_api.entity.Address;
 import project.spring_restful_api.entity.Contact;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public interface AddressRepository extends JpaRepository<Address, String> {
+public interface AddressRepository extends JpaRepository<Address, UUID>, AddressSearchRepository {
 
-    Optional<Address> findFirstByContactAndId(Contact contact, String id);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "ownership-queries") })
+    Optional<Address> findFirstByContactAndId(Contact contact, UUID id);
 
     List<Address> findAllByContact(Contact contact);
-}
\ No newline at end of file
+
+    // Addresses of soft-deleted contacts are left out, as if already purged.
+    @Query("select a from Address a where a.id in :ids and a.contact.deletedAt is null")
+    List<Address> findAllLiveById(@Param("ids") List<UUID> ids);
+}
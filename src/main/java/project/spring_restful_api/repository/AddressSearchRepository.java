@@ -0,0 +1,12 @@
+package project.spring_restful_api.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+import project.spring_restful_api.entity.Address;
+import project.spring_restful_api.model.AddressResponse;
+
+public interface AddressSearchRepository {
+
+    List<AddressResponse> findResponses(Specification<Address> specification, List<String> fields);
+}
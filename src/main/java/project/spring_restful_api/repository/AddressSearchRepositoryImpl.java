@@ -0,0 +1,60 @@
+package project.spring_restful_api.repository;
+
+import java.util.List;
+import java.util.Objects;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import project.spring_restful_api.entity.Address;
+import project.spring_restful_api.model.AddressResponse;
+
+public class AddressSearchRepositoryImpl implements AddressSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AddressResponse> findResponses(Specification<Address> specification, List<String> fields) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Address> root = query.from(Address.class);
+        query.multiselect(fields.stream().<Selection<?>>map(field -> root.get(field).alias(field)).toList());
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, "ownership-queries")
+                .getResultStream()
+                .map(tuple -> toAddressResponse(tuple, fields))
+                .toList();
+    }
+
+    private AddressResponse toAddressResponse(Tuple tuple, List<String> fields) {
+        AddressResponse response = new AddressResponse();
+        for (String field : fields) {
+            String value = Objects.toString(tuple.get(field), null);
+            switch (field) {
+                case "id" -> response.setId(value);
+                case "street" -> response.setStreet(value);
+                case "city" -> response.setCity(value);
+                case "province" -> response.setProvince(value);
+                case "country" -> response.setCountry(value);
+                case "postalCode" -> response.setPostalCode(value);
+                default -> throw new IllegalArgumentException("Unknown address field " + field);
+            }
+        }
+        return response;
+    }
+}
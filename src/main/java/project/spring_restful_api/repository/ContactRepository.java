@@ -1,16 +1,51 @@
 package project.spring_restful_api.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import project.spring_restful_api.entity.Contact;
 import project.spring_restful_api.entity.User;
 
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public interface ContactRepository extends JpaRepository<Contact, String>, JpaSpecificationExecutor<Contact> {
+public interface ContactRepository extends JpaRepository<Contact, UUID>, JpaSpecificationExecutor<Contact>,
+        ContactSearchRepository {
 
-    Optional<Contact> findFirstByUserAndId(User user, String id);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "ownership-queries") })
+    Optional<Contact> findFirstByUserAndId(User user, UUID id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "ownership-queries") })
+    boolean existsByUserAndId(User user, UUID id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "ownership-queries") })
+    @Query("select c.version from Contact c where c.id = :id and c.user = :user")
+    Optional<Long> findVersionByUserAndId(@Param("user") User user, @Param("id") UUID id);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "addresses"))
+    @Query(value = "DELETE FROM addresses WHERE contact_id IN "
+            + "(SELECT id FROM contacts WHERE deleted_at IS NOT NULL) LIMIT :limit", nativeQuery = true)
+    int purgeDeletedAddresses(@Param("limit") int limit);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "contacts"))
+    @Query(value = "DELETE FROM contacts WHERE deleted_at IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM addresses a WHERE a.contact_id = contacts.id) LIMIT :limit",
+            nativeQuery = true)
+    int purgeDeletedContacts(@Param("limit") int limit);
 
 }
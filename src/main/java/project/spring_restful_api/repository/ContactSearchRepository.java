@@ -0,0 +1,26 @@
+package project.spring_restful_api.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import project.spring_restful_api.entity.Contact;
+import project.spring_restful_api.model.ContactResponse;
+
+public interface ContactSearchRepository {
+
+    Page<ContactResponse> searchResponses(Specification<Contact> specification, Pageable pageable,
+            List<String> fields);
+
+    /**
+     * Hands each row of the page to the action as it is read from a forward
+     * only cursor, without materializing the page, and returns the total count.
+     */
+    long streamResponses(Specification<Contact> specification, Pageable pageable, List<String> fields,
+            Consumer<ContactResponse> action);
+
+    Optional<ContactResponse> findResponse(Specification<Contact> specification, List<String> fields);
+}
@@ -0,0 +1,128 @@
+package project.spring_restful_api.repository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import project.spring_restful_api.entity.Contact;
+import project.spring_restful_api.model.ContactResponse;
+
+public class ContactSearchRepositoryImpl implements ContactSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ContactResponse> searchResponses(Specification<Contact> specification, Pageable pageable,
+            List<String> fields) {
+        List<ContactResponse> content = entityManager.createQuery(select(specification, pageable.getSort(), fields))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultStream()
+                .map(tuple -> toContactResponse(tuple, fields))
+                .toList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    @Override
+    public long streamResponses(Specification<Contact> specification, Pageable pageable, List<String> fields,
+            Consumer<ContactResponse> action) {
+        int rows = 0;
+        // Integer.MIN_VALUE makes Connector/J stream rows instead of buffering the
+        // whole result set; no other statement may run until the stream is closed.
+        try (Stream<Tuple> tuples = entityManager.createQuery(select(specification, pageable.getSort(), fields))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+                .getResultStream()) {
+            for (Tuple tuple : (Iterable<Tuple>) tuples::iterator) {
+                action.accept(toContactResponse(tuple, fields));
+                rows++;
+            }
+        }
+
+        // same shortcut as PageableExecutionUtils.getPage
+        if (rows < pageable.getPageSize() && (rows > 0 || pageable.getOffset() == 0)) {
+            return pageable.getOffset() + rows;
+        }
+        return count(specification);
+    }
+
+    @Override
+    public Optional<ContactResponse> findResponse(Specification<Contact> specification, List<String> fields) {
+        return entityManager.createQuery(select(specification, Sort.unsorted(), fields))
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, "ownership-queries")
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst()
+                .map(tuple -> toContactResponse(tuple, fields));
+    }
+
+    private CriteriaQuery<Tuple> select(Specification<Contact> specification, Sort sort, List<String> fields) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Contact> root = query.from(Contact.class);
+        query.multiselect(fields.stream().<Selection<?>>map(field -> root.get(field).alias(field)).toList());
+        applySpecification(specification, root, query, builder);
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        }
+
+        return query;
+    }
+
+    private long count(Specification<Contact> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Contact> root = query.from(Contact.class);
+        query.select(builder.count(root));
+        applySpecification(specification, root, query, builder);
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private void applySpecification(Specification<Contact> specification, Root<Contact> root,
+            CriteriaQuery<?> query, CriteriaBuilder builder) {
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    private ContactResponse toContactResponse(Tuple tuple, List<String> fields) {
+        ContactResponse response = new ContactResponse();
+        for (String field : fields) {
+            String value = Objects.toString(tuple.get(field), null);
+            switch (field) {
+                case "id" -> response.setId(value);
+                case "firstName" -> response.setFirstName(value);
+                case "lastName" -> response.setLastName(value);
+                case "email" -> response.setEmail(value);
+                case "phone" -> response.setPhone(value);
+                default -> throw new IllegalArgumentException("Unknown contact field " + field);
+            }
+        }
+        return response;
+    }
+}
@@ -0,0 +1,43 @@
+package project.spring_restful_api.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import project.spring_restful_api.entity.SyncChange;
+
+@Repository
+public interface SyncChangeRepository extends JpaRepository<SyncChange, UUID> {
+
+    @Query(value = "SELECT seq FROM sync_cursors WHERE username = :username", nativeQuery = true)
+    Optional<Long> findCursor(@Param("username") String username);
+
+    List<SyncChange> findByUsernameAndSeqGreaterThanOrderBySeq(String username, Long seq, Limit limit);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sync_cursors"))
+    @Query(value = "INSERT INTO sync_cursors (username, seq) VALUES (:username, 1) "
+            + "ON DUPLICATE KEY UPDATE seq = seq + 1", nativeQuery = true)
+    int incrementCursor(@Param("username") String username);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sync_changes"))
+    @Query(value = "INSERT INTO sync_changes (entity_id, username, contact_id, entity_type, deleted, seq) "
+            + "SELECT :entityId, :username, :contactId, :entityType, :deleted, seq "
+            + "FROM sync_cursors WHERE username = :username "
+            + "ON DUPLICATE KEY UPDATE deleted = VALUES(deleted), seq = VALUES(seq)", nativeQuery = true)
+    int upsertChange(@Param("entityId") byte[] entityId,
+            @Param("username") String username,
+            @Param("contactId") byte[] contactId,
+            @Param("entityType") String entityType,
+            @Param("deleted") boolean deleted);
+}
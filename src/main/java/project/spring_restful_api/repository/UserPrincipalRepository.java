@@ -0,0 +1,15 @@
+package project.spring_restful_api.repository;
+
+import java.util.Optional;
+
+import project.spring_restful_api.entity.User;
+
+public interface UserPrincipalRepository {
+
+    /**
+     * The user holding the token, detached and without password or token. The
+     * token is resolved through the natural id cache, which a login or logout
+     * only updates for that one user.
+     */
+    Optional<User> findPrincipalByToken(String token);
+}
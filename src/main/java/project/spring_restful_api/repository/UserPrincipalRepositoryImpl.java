@@ -0,0 +1,25 @@
+package project.spring_restful_api.repository;
+
+import java.util.Optional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import project.spring_restful_api.entity.User;
+
+public class UserPrincipalRepositoryImpl implements UserPrincipalRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findPrincipalByToken(String token) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(token)
+                .map(user -> new User(user.getUsername(), user.getName(), user.getTokenExpiredAt(),
+                        user.getVersion()));
+    }
+}
@@ -13,6 +13,8 @@ import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 import org.springframework.web.server.ResponseStatusException;
 
+import project.spring_restful_api.datasource.ShardContext;
+import project.spring_restful_api.datasource.ShardRouter;
 import project.spring_restful_api.entity.User;
 import project.spring_restful_api.repository.UserRepository;
 
@@ -22,6 +24,9 @@ public class UserArgumentResolver implements HandlerMethodArgumentResolver {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ShardRouter shardRouter;
+
     @Override
     public boolean supportsParameter(MethodParameter parameter) {
         return User.class.equals(parameter.getParameterType());
@@ -37,7 +42,8 @@ public class UserArgumentResolver implements HandlerMethodArgumentResolver {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
         }
 
-        User user = userRepository.findFirstByToken(token)
+        ShardContext.set(shardRouter.shardOfToken(token));
+        User user = userRepository.findPrincipalByToken(token)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized"));
 
         if (user.getTokenExpiredAt() < System.currentTimeMillis()) {
@@ -0,0 +1,52 @@
+package project.spring_restful_api.serializer;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import project.spring_restful_api.model.AddressResponse;
+
+class AddressResponseSerializer extends ResponseSerializer<AddressResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+
+    private static final SerializedString STREET = new SerializedString("street");
+
+    private static final SerializedString CITY = new SerializedString("city");
+
+    private static final SerializedString PROVINCE = new SerializedString("province");
+
+    private static final SerializedString COUNTRY = new SerializedString("country");
+
+    private static final SerializedString POSTAL_CODE = new SerializedString("postalCode");
+
+    AddressResponseSerializer() {
+        super(AddressResponse.class);
+    }
+
+    @Override
+    public void serialize(AddressResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        FieldSelection fields = FieldSelection.of(provider, value);
+        gen.writeStartObject(value);
+        if (fields.includes("id")) {
+            writeString(gen, ID, value.getId());
+        }
+        if (fields.includes("street")) {
+            writeString(gen, STREET, value.getStreet());
+        }
+        if (fields.includes("city")) {
+            writeString(gen, CITY, value.getCity());
+        }
+        if (fields.includes("province")) {
+            writeString(gen, PROVINCE, value.getProvince());
+        }
+        if (fields.includes("country")) {
+            writeString(gen, COUNTRY, value.getCountry());
+        }
+        if (fields.includes("postalCode")) {
+            writeString(gen, POSTAL_CODE, value.getPostalCode());
+        }
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,47 @@
+package project.spring_restful_api.serializer;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import project.spring_restful_api.model.ContactResponse;
+
+class ContactResponseSerializer extends ResponseSerializer<ContactResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+
+    private static final SerializedString EMAIL = new SerializedString("email");
+
+    private static final SerializedString PHONE = new SerializedString("phone");
+
+    ContactResponseSerializer() {
+        super(ContactResponse.class);
+    }
+
+    @Override
+    public void serialize(ContactResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        FieldSelection fields = FieldSelection.of(provider, value);
+        gen.writeStartObject(value);
+        if (fields.includes("id")) {
+            writeString(gen, ID, value.getId());
+        }
+        if (fields.includes("firstName")) {
+            writeString(gen, FIRST_NAME, value.getFirstName());
+        }
+        if (fields.includes("lastName")) {
+            writeString(gen, LAST_NAME, value.getLastName());
+        }
+        if (fields.includes("email")) {
+            writeString(gen, EMAIL, value.getEmail());
+        }
+        if (fields.includes("phone")) {
+            writeString(gen, PHONE, value.getPhone());
+        }
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,58 @@
+package project.spring_restful_api.serializer;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import project.spring_restful_api.model.WebResponse;
+
+/**
+ * The fieldFilter set for a sparse fieldset request. Bean serializers use it as
+ * a regular property filter; the response serializers ask it directly which
+ * fields to write.
+ */
+public class FieldSelection extends SimpleBeanPropertyFilter.FilterExceptFilter {
+
+    static final FieldSelection ALL = new FieldSelection(Set.of()) {
+
+        @Override
+        public boolean includes(String field) {
+            return true;
+        }
+    };
+
+    public FieldSelection(Set<String> fields) {
+        super(fields);
+    }
+
+    public boolean includes(String field) {
+        return _propertiesToInclude.contains(field);
+    }
+
+    /**
+     * Filters for the comma separated fields request parameter, or null when
+     * every field is wanted.
+     */
+    public static FilterProvider filters(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+
+        Set<String> selectedFields = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toSet());
+        return new SimpleFilterProvider().addFilter(WebResponse.FIELD_FILTER, new FieldSelection(selectedFields));
+    }
+
+    static FieldSelection of(SerializerProvider provider, Object value) {
+        FilterProvider filters = provider.getConfig().getFilterProvider();
+        PropertyFilter filter = filters != null ? filters.findPropertyFilter(WebResponse.FIELD_FILTER, value) : null;
+        return filter instanceof FieldSelection selection ? selection : ALL;
+    }
+}
@@ -0,0 +1,30 @@
+package project.spring_restful_api.serializer;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import project.spring_restful_api.model.PagingResponse;
+
+class PagingResponseSerializer extends ResponseSerializer<PagingResponse> {
+
+    private static final SerializedString CURRENT_PAGE = new SerializedString("currentPage");
+
+    private static final SerializedString TOTAL_PAGE = new SerializedString("totalPage");
+
+    private static final SerializedString SIZE = new SerializedString("size");
+
+    PagingResponseSerializer() {
+        super(PagingResponse.class);
+    }
+
+    @Override
+    public void serialize(PagingResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        writeNumber(gen, CURRENT_PAGE, value.getCurrentPage());
+        writeNumber(gen, TOTAL_PAGE, value.getTotalPage());
+        writeNumber(gen, SIZE, value.getSize());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,46 @@
+package project.spring_restful_api.serializer;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Base for the hand written response serializers: field names are encoded once
+ * and values are written straight to the generator, with nulls kept to match
+ * the bean serializers they replace.
+ */
+abstract class ResponseSerializer<T> extends StdSerializer<T> {
+
+    protected ResponseSerializer(Class<T> type) {
+        super(type);
+    }
+
+    protected static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value != null) {
+            gen.writeString(value);
+        } else {
+            gen.writeNull();
+        }
+    }
+
+    protected static void writeNumber(JsonGenerator gen, SerializableString name, Integer value) throws IOException {
+        gen.writeFieldName(name);
+        if (value != null) {
+            gen.writeNumber(value);
+        } else {
+            gen.writeNull();
+        }
+    }
+
+    protected static void writeNumber(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value != null) {
+            gen.writeNumber(value);
+        } else {
+            gen.writeNull();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package project.spring_restful_api.serializer;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import project.spring_restful_api.model.AddressResponse;
+import project.spring_restful_api.model.ContactResponse;
+import project.spring_restful_api.model.PagingResponse;
+import project.spring_restful_api.model.TokenResponse;
+import project.spring_restful_api.model.WebResponse;
+
+/**
+ * Registers the hand written serializers for the hot response models in place
+ * of Jackson's reflective bean serializers. Output is identical, including the
+ * sparse fieldsets selected through {@link FieldSelection}.
+ */
+public class ResponseSerializerModule extends SimpleModule {
+
+    public ResponseSerializerModule() {
+        super("ResponseSerializerModule");
+        addSerializer(WebResponse.class, new WebResponseSerializer());
+        addSerializer(ContactResponse.class, new ContactResponseSerializer());
+        addSerializer(AddressResponse.class, new AddressResponseSerializer());
+        addSerializer(PagingResponse.class, new PagingResponseSerializer());
+        addSerializer(TokenResponse.class, new TokenResponseSerializer());
+    }
+}
@@ -0,0 +1,27 @@
+package project.spring_restful_api.serializer;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import project.spring_restful_api.model.TokenResponse;
+
+class TokenResponseSerializer extends ResponseSerializer<TokenResponse> {
+
+    private static final SerializedString TOKEN = new SerializedString("token");
+
+    private static final SerializedString EXPIRED_AT = new SerializedString("expiredAt");
+
+    TokenResponseSerializer() {
+        super(TokenResponse.class);
+    }
+
+    @Override
+    public void serialize(TokenResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        writeString(gen, TOKEN, value.getToken());
+        writeNumber(gen, EXPIRED_AT, value.getExpiredAt());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,60 @@
+package project.spring_restful_api.serializer;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import project.spring_restful_api.model.WebResponse;
+
+@SuppressWarnings("rawtypes")
+class WebResponseSerializer extends ResponseSerializer<WebResponse> {
+
+    private static final SerializedString DATA = new SerializedString("data");
+
+    private static final SerializedString ERRORS = new SerializedString("errors");
+
+    private static final SerializedString PAGING = new SerializedString("paging");
+
+    WebResponseSerializer() {
+        super(WebResponse.class);
+    }
+
+    @Override
+    public void serialize(WebResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(DATA);
+        writeData(value.getData(), gen, provider);
+        writeString(gen, ERRORS, value.getErrors());
+        gen.writeFieldName(PAGING);
+        provider.defaultSerializeValue(value.getPaging(), gen);
+        gen.writeEndObject();
+    }
+
+    // Pages hold a single element type, so the element serializer is looked up
+    // once per list instead of once per item.
+    private void writeData(Object data, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (!(data instanceof List<?> items)) {
+            provider.defaultSerializeValue(data, gen);
+            return;
+        }
+
+        gen.writeStartArray(items, items.size());
+        Class<?> type = null;
+        JsonSerializer<Object> serializer = null;
+        for (Object item : items) {
+            if (item == null) {
+                gen.writeNull();
+                continue;
+            }
+            if (item.getClass() != type) {
+                type = item.getClass();
+                serializer = provider.findValueSerializer(type);
+            }
+            serializer.serialize(item, gen, provider);
+        }
+        gen.writeEndArray();
+    }
+}
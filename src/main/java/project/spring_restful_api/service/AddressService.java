@@ -1,22 +1,29 @@
 package project.spring_restful_api.service;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import project.spring_restful_api.entity.Address;
 import project.spring_restful_api.entity.Contact;
+import project.spring_restful_api.entity.SyncChange;
 import project.spring_restful_api.entity.User;
 import project.spring_restful_api.model.AddressResponse;
 import project.spring_restful_api.model.CreateAddressRequest;
 import project.spring_restful_api.model.UpdateAddressRequest;
 import project.spring_restful_api.repository.AddressRepository;
 import project.spring_restful_api.repository.ContactRepository;
+import project.spring_restful_api.repository.SyncChangeRepository;
+import project.spring_restful_api.util.UuidUtil;
 
 @Service
 public class AddressService {
@@ -29,26 +36,24 @@ public class AddressService {
     @Autowired
     private ValidationService validationService;
 
-    private AddressResponse toAddressResponse(Address address) {
-        return AddressResponse.builder()
-                .id(address.getId())
-                .street(address.getStreet())
-                .city(address.getCity())
-                .province(address.getProvince())
-                .country(address.getCountry())
-                .postalCode(address.getPostalCode())
-                .build();
-    }
+    @Autowired
+    private ChangeService changeService;
+
+    @Autowired
+    private SyncChangeRepository syncChangeRepository;
+
+    @Autowired
+    private SingleFlight singleFlight;
 
     @Transactional
     public AddressResponse create(User user, CreateAddressRequest request) {
         validationService.validate(request);
 
-        Contact contact = contactRepository.findFirstByUserAndId(user, request.getContactId())
+        Contact contact = contactRepository.findFirstByUserAndId(user, parseContactId(request.getContactId()))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
 
         Address address = new Address();
-        address.setId(UUID.randomUUID().toString());
+        address.setId(UuidUtil.randomV7());
         address.setContact(contact);
         address.setStreet(request.getStreet());
         address.setCity(request.getCity());
@@ -57,60 +62,128 @@ public class AddressService {
         address.setPostalCode(request.getPostalCode());
 
         addressRepository.save(address);
+        changeService.record(user, SyncChange.ADDRESS, address.getId(), contact.getId(), false);
 
-        return toAddressResponse(address);
+        return AddressResponse.from(address);
     }
 
-    @Transactional(readOnly = true)
-    public AddressResponse get(User user, String contactId, String addressId) {
-        Contact contact = contactRepository.findFirstByUserAndId(user, contactId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
-
-        Address address = addressRepository.findFirstByContactAndId(contact, addressId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Address not found"));
-
-        return toAddressResponse(address);
+    public AddressResponse get(User user, String contactId, String addressId, String fields) {
+        return singleFlight.read("address", user, Arrays.asList(contactId, addressId, fields), () -> {
+            List<String> selectedFields = validationService.validateFields(fields, AddressResponse.FIELDS);
+            UUID contactUuid = parseContactId(contactId);
+            UUID addressUuid = parseAddressId(user, contactUuid, addressId);
+
+            Specification<Address> specification = (root, query, builder) -> builder.and(
+                    builder.equal(root.get("id"), addressUuid),
+                    builder.equal(root.get("contact").get("id"), contactUuid),
+                    builder.equal(root.get("contact").get("user"), user),
+                    builder.isNull(root.get("contact").get("deletedAt")));
+
+            return addressRepository.findResponses(specification, selectedFields).stream()
+                    .findFirst()
+                    .orElseThrow(() -> notFound(user, contactUuid));
+        });
     }
 
     @Transactional
     public AddressResponse update(User user, UpdateAddressRequest request) {
         validationService.validate(request);
+        UUID contactUuid = parseContactId(request.getContactId());
+        UUID addressUuid = parseAddressId(user, contactUuid, request.getAddressId());
 
-        Contact contact = contactRepository.findFirstByUserAndId(user, request.getContactId())
+        Contact contact = contactRepository.findFirstByUserAndId(user, contactUuid)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
-
-        Address address = addressRepository.findFirstByContactAndId(contact, request.getAddressId())
+        Address address = addressRepository.findFirstByContactAndId(contact, addressUuid)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Address not found"));
-
-        address.setStreet(request.getStreet());
-        address.setCity(request.getCity());
-        address.setProvince(request.getProvince());
-        address.setCountry(request.getCountry());
-        address.setPostalCode(request.getPostalCode());
-        addressRepository.save(address);
-
-        return toAddressResponse(address);
+        if (Objects.nonNull(request.getVersion()) && !request.getVersion().equals(address.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Address was modified");
+        }
+
+        // Only the supplied fields become dirty; see ContactService.update.
+        if (Objects.nonNull(request.getStreet())) {
+            address.setStreet(request.getStreet());
+        }
+        if (Objects.nonNull(request.getCity())) {
+            address.setCity(request.getCity());
+        }
+        if (Objects.nonNull(request.getProvince())) {
+            address.setProvince(request.getProvince());
+        }
+        if (Objects.nonNull(request.getCountry())) {
+            address.setCountry(request.getCountry());
+        }
+        if (Objects.nonNull(request.getPostalCode())) {
+            address.setPostalCode(request.getPostalCode());
+        }
+        try {
+            addressRepository.saveAndFlush(address);
+        } catch (ObjectOptimisticLockingFailureException exception) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Address was modified");
+        }
+        changeService.record(user, SyncChange.ADDRESS, addressUuid, contactUuid, false);
+
+        return AddressResponse.from(address);
     }
 
     @Transactional
     public void delete(User user, String contactId, String addressId) {
-        Contact contact = contactRepository.findFirstByUserAndId(user, contactId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
+        UUID contactUuid = parseContactId(contactId);
+        UUID addressUuid = parseAddressId(user, contactUuid, addressId);
 
-        Address address = addressRepository.findFirstByContactAndId(contact, addressId)
+        Contact contact = contactRepository.findFirstByUserAndId(user, contactUuid)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
+        Address address = addressRepository.findFirstByContactAndId(contact, addressUuid)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Address not found"));
-
         addressRepository.delete(address);
+        changeService.record(user, SyncChange.ADDRESS, addressUuid, contactUuid, true);
+    }
+
+    /**
+     * The user's change feed cursor, which moves on every contact or address
+     * write, so it versions every address list the user can read.
+     */
+    public long listVersion(User user, String contactId) {
+        return singleFlight.read("address-list-version", user, List.of(contactId), () -> {
+            if (!contactRepository.existsByUserAndId(user, parseContactId(contactId))) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found");
+            }
+            return syncChangeRepository.findCursor(user.getUsername()).orElse(0L);
+        });
     }
 
-    @Transactional(readOnly = true)
-    public List<AddressResponse> list(User user, String contactId) {
-        Contact contact = contactRepository.findFirstByUserAndId(user, contactId)
+    public List<AddressResponse> list(User user, String contactId, String fields) {
+        return singleFlight.read("address-list", user, Arrays.asList(contactId, fields), () -> {
+            List<String> selectedFields = validationService.validateFields(fields, AddressResponse.FIELDS);
+            UUID contactUuid = parseContactId(contactId);
+
+            Specification<Address> specification = (root, query, builder) -> builder.and(
+                    builder.equal(root.get("contact").get("id"), contactUuid),
+                    builder.equal(root.get("contact").get("user"), user),
+                    builder.isNull(root.get("contact").get("deletedAt")));
+
+            List<AddressResponse> addresses = addressRepository.findResponses(specification, selectedFields);
+            if (addresses.isEmpty() && !contactRepository.existsByUserAndId(user, contactUuid)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found");
+            }
+
+            return addresses;
+        });
+    }
+
+    private UUID parseContactId(String contactId) {
+        return UuidUtil.parse(contactId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
+    }
 
-        List<Address> addresses = addressRepository.findAllByContact(contact);
+    private UUID parseAddressId(User user, UUID contactId, String addressId) {
+        return UuidUtil.parse(addressId).orElseThrow(() -> notFound(user, contactId));
+    }
 
-        return addresses.stream().map(this::toAddressResponse).toList();
+    private ResponseStatusException notFound(User user, UUID contactId) {
+        if (contactRepository.existsByUserAndId(user, contactId)) {
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, "Address not found");
+        }
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found");
     }
 
 }
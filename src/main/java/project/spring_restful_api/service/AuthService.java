@@ -3,7 +3,6 @@ package project.spring_restful_api.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import project.spring_restful_api.entity.User;
@@ -24,34 +23,35 @@ public class AuthService {
     @Autowired
     private JwtUtil jwtUtil;
 
-    @Transactional
     public TokenResponse login(LoginUserRequest request) {
         validationService.validate(request);
 
         User user = userRepository.findById(request.getUsername())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Username or password wrong"));
 
-        if (BCrypt.checkpw(request.getPassword(), user.getPassword())) {
-            String token = jwtUtil.generateToken(request.getUsername());
-            user.setToken(token);
-            user.setTokenExpiredAt(next30Days());
-            userRepository.save(user);
-
-            return TokenResponse.builder().token(user.getToken()).expiredAt(user.getTokenExpiredAt()).build();
-        } else {
+        if (!BCrypt.checkpw(request.getPassword(), user.getPassword())) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Username or password wrong");
         }
+
+        String token = jwtUtil.generateToken(request.getUsername());
+        Long expiredAt = next30Days();
+        user.setToken(token);
+        user.setTokenExpiredAt(expiredAt);
+        userRepository.save(user);
+
+        return TokenResponse.builder().token(token).expiredAt(expiredAt).build();
     }
 
     private Long next30Days() {
         return System.currentTimeMillis() + 30L * 24 * 60 * 60 * 1000;
     }
 
-    @Transactional
+    // Written through the entity, so only this user's cache entries change.
     public void logout(User user) {
-        user.setToken(null);
-        user.setTokenExpiredAt(null);
-
-        userRepository.save(user);
+        userRepository.findById(user.getUsername()).ifPresent(stored -> {
+            stored.setToken(null);
+            stored.setTokenExpiredAt(null);
+            userRepository.save(stored);
+        });
     }
 }
@@ -0,0 +1,113 @@
+package project.spring_restful_api.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import project.spring_restful_api.entity.Address;
+import project.spring_restful_api.entity.Contact;
+import project.spring_restful_api.entity.SyncChange;
+import project.spring_restful_api.entity.User;
+import project.spring_restful_api.model.AddressResponse;
+import project.spring_restful_api.model.ChangeFeedResponse;
+import project.spring_restful_api.model.ChangeResponse;
+import project.spring_restful_api.model.ContactResponse;
+import project.spring_restful_api.repository.AddressRepository;
+import project.spring_restful_api.repository.ContactRepository;
+import project.spring_restful_api.repository.SyncChangeRepository;
+import project.spring_restful_api.util.UuidUtil;
+
+@Service
+public class ChangeService {
+
+    private static final int MAX_SIZE = 500;
+
+    @Autowired
+    private SyncChangeRepository syncChangeRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    /**
+     * Bumps the user's sequence and stamps the entity with it, in the caller's
+     * transaction so the change and its feed entry commit together. Reads of
+     * the user started after the commit no longer join earlier queries.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(User user, String type, UUID id, UUID contactId, boolean deleted) {
+        singleFlight.forgetAfterCommit(user);
+        syncChangeRepository.incrementCursor(user.getUsername());
+        syncChangeRepository.upsertChange(UuidUtil.toBytes(id), user.getUsername(), UuidUtil.toBytes(contactId),
+                type, deleted);
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse changes(User user, Long since, Integer size) {
+        if (since < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "since must not be negative");
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_SIZE);
+        }
+
+        List<SyncChange> changes = syncChangeRepository.findByUsernameAndSeqGreaterThanOrderBySeq(
+                user.getUsername(), since, Limit.of(size + 1));
+        boolean hasMore = changes.size() > size;
+        if (hasMore) {
+            changes = changes.subList(0, size);
+        }
+
+        Map<UUID, Contact> contacts = contactRepository.findAllById(liveIds(changes, SyncChange.CONTACT)).stream()
+                .collect(Collectors.toMap(Contact::getId, Function.identity()));
+        Map<UUID, Address> addresses = addressRepository.findAllLiveById(liveIds(changes, SyncChange.ADDRESS)).stream()
+                .collect(Collectors.toMap(Address::getId, Function.identity()));
+
+        List<ChangeResponse> responses = changes.stream().map(change -> {
+            Contact contact = SyncChange.CONTACT.equals(change.getEntityType())
+                    ? contacts.get(change.getEntityId())
+                    : null;
+            Address address = SyncChange.ADDRESS.equals(change.getEntityType())
+                    ? addresses.get(change.getEntityId())
+                    : null;
+
+            return ChangeResponse.builder()
+                    .seq(change.getSeq())
+                    .type(change.getEntityType())
+                    .id(change.getEntityId().toString())
+                    .contactId(change.getContactId().toString())
+                    .deleted(contact == null && address == null)
+                    .contact(contact != null ? ContactResponse.from(contact) : null)
+                    .address(address != null ? AddressResponse.from(address) : null)
+                    .build();
+        }).toList();
+
+        return ChangeFeedResponse.builder()
+                .changes(responses)
+                .cursor(changes.isEmpty() ? since : changes.getLast().getSeq())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private static List<UUID> liveIds(List<SyncChange> changes, String type) {
+        return changes.stream()
+                .filter(change -> !change.isDeleted() && type.equals(change.getEntityType()))
+                .map(SyncChange::getEntityId)
+                .toList();
+    }
+}
@@ -0,0 +1,58 @@
+package project.spring_restful_api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import project.spring_restful_api.datasource.ShardRouter;
+import project.spring_restful_api.repository.ContactRepository;
+
+/**
+ * Removes soft deleted contacts and their addresses in small batches, each in
+ * its own transaction, so a large account never holds locks for long.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.contacts.delete-mode", havingValue = "soft")
+public class ContactPurgeService {
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${app.contacts.purge-batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.contacts.purge-interval:PT1M}")
+    public void purge() {
+        int addresses = 0;
+        int contacts = 0;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            addresses += shardRouter.onShard(shard, () -> purgeBatches(true));
+            contacts += shardRouter.onShard(shard, () -> purgeBatches(false));
+        }
+        if (addresses > 0 || contacts > 0) {
+            log.info("Purged {} deleted contacts and {} addresses", contacts, addresses);
+        }
+    }
+
+    private int purgeBatches(boolean addresses) {
+        int total = 0;
+        int purged;
+        do {
+            purged = transactionTemplate.execute(status -> addresses
+                    ? contactRepository.purgeDeletedAddresses(batchSize)
+                    : contactRepository.purgeDeletedContacts(batchSize));
+            total += purged;
+        } while (purged == batchSize);
+        return total;
+    }
+}
@@ -1,99 +1,189 @@
 package project.spring_restful_api.service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import project.spring_restful_api.entity.Contact;
+import project.spring_restful_api.entity.SyncChange;
 import project.spring_restful_api.entity.User;
 import project.spring_restful_api.model.ContactResponse;
 import project.spring_restful_api.model.CreateContactRequest;
+import project.spring_restful_api.model.PagingResponse;
 import project.spring_restful_api.model.SearchContactRequest;
 import project.spring_restful_api.model.UpdateContactRequest;
+import project.spring_restful_api.repository.AddressRepository;
 import project.spring_restful_api.repository.ContactRepository;
+import project.spring_restful_api.repository.UserRepository;
+import project.spring_restful_api.util.UuidUtil;
 
 @Service
 public class ContactService {
     @Autowired
     private ContactRepository contactRepository;
 
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
     @Autowired
     private ValidationService validationService;
 
-    private ContactResponse toContactResponse(Contact contact) {
-        return ContactResponse.builder()
-                .id(contact.getId())
-                .firstName(contact.getFirstName())
-                .lastName(contact.getLastName())
-                .email(contact.getEmail())
-                .phone(contact.getPhone())
-                .build();
-    }
+    @Autowired
+    private ChangeService changeService;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Value("${app.contacts.delete-mode:hard}")
+    private String deleteMode;
+
+    private static final String SOFT_DELETE = "soft";
 
     @Transactional
     public ContactResponse create(User user, CreateContactRequest request) {
         validationService.validate(request);
 
         Contact contact = new Contact();
-        contact.setId(UUID.randomUUID().toString());
+        contact.setId(UuidUtil.randomV7());
         contact.setFirstName(request.getFirstName());
         contact.setLastName(request.getLastName());
         contact.setEmail(request.getEmail());
         contact.setPhone(request.getPhone());
-        contact.setUser(user);
+        contact.setUser(userRepository.getReferenceById(user.getUsername()));
 
         contactRepository.save(contact);
+        changeService.record(user, SyncChange.CONTACT, contact.getId(), contact.getId(), false);
 
-        return toContactResponse(contact);
+        return ContactResponse.from(contact);
     }
 
-    @Transactional(readOnly = true)
-    public ContactResponse get(User user, String contactId) {
-        Contact contact = contactRepository.findFirstByUserAndId(user, contactId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
+    public ContactResponse get(User user, String contactId, String fields) {
+        return singleFlight.read("contact", user, Arrays.asList(contactId, fields), () -> {
+            List<String> selectedFields = validationService.validateFields(fields, ContactResponse.FIELDS);
+            UUID id = parseContactId(contactId);
+
+            Specification<Contact> specification = (root, query, builder) -> builder.and(
+                    builder.equal(root.get("user"), user),
+                    builder.equal(root.get("id"), id));
+
+            return contactRepository.findResponse(specification, selectedFields)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
+        });
+    }
 
-        return toContactResponse(contact);
+    public long version(User user, String contactId) {
+        return singleFlight.read("contact-version", user, List.of(contactId),
+                () -> contactRepository.findVersionByUserAndId(user, parseContactId(contactId))
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found")));
     }
 
     @Transactional
     public ContactResponse update(User user, UpdateContactRequest request) {
         validationService.validate(request);
+        UUID id = parseContactId(request.getId());
 
-        Contact contact = contactRepository.findFirstByUserAndId(user, request.getId())
+        Contact contact = contactRepository.findFirstByUserAndId(user, id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
-
-        contact.setFirstName(request.getFirstName());
-        contact.setLastName(request.getLastName());
-        contact.setEmail(request.getEmail());
-        contact.setPhone(request.getPhone());
-        contactRepository.save(contact);
-
-        return toContactResponse(contact);
+        if (Objects.nonNull(request.getVersion()) && !request.getVersion().equals(contact.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Contact was modified");
+        }
+
+        // Only the supplied fields become dirty; @DynamicUpdate and @Version turn
+        // them into one UPDATE ... WHERE id = ? AND version = ?, which touches
+        // only this contact's cache entry.
+        if (Objects.nonNull(request.getFirstName())) {
+            contact.setFirstName(request.getFirstName());
+        }
+        if (Objects.nonNull(request.getLastName())) {
+            contact.setLastName(request.getLastName());
+        }
+        if (Objects.nonNull(request.getEmail())) {
+            contact.setEmail(request.getEmail());
+        }
+        if (Objects.nonNull(request.getPhone())) {
+            contact.setPhone(request.getPhone());
+        }
+        try {
+            contactRepository.saveAndFlush(contact);
+        } catch (ObjectOptimisticLockingFailureException exception) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Contact was modified");
+        }
+        changeService.record(user, SyncChange.CONTACT, id, id, false);
+
+        return ContactResponse.from(contact);
     }
 
     @Transactional
     public void delete(User user, String contactId) {
-        Contact contact = contactRepository.findFirstByUserAndId(user, contactId)
+        UUID id = parseContactId(contactId);
+        Contact contact = contactRepository.findFirstByUserAndId(user, id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
-        contactRepository.delete(contact);
+
+        // Entity writes leave every other row in the second-level cache; the
+        // address deletes go out as one JDBC batch.
+        if (SOFT_DELETE.equals(deleteMode)) {
+            contact.setDeletedAt(System.currentTimeMillis());
+        } else {
+            addressRepository.deleteAll(addressRepository.findAllByContact(contact));
+            contactRepository.delete(contact);
+        }
+        try {
+            contactRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException exception) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Contact was modified");
+        }
+        changeService.record(user, SyncChange.CONTACT, id, id, true);
     }
 
-    @Transactional(readOnly = true)
     public Page<ContactResponse> search(User user, SearchContactRequest request) {
-        Specification<Contact> specification = (root, query, builder) -> {
+        return singleFlight.read("contact-search", user, List.of(request), () -> {
+            List<String> selectedFields = validationService.validateFields(request.getFields(),
+                    ContactResponse.FIELDS);
+
+            Pageable pageable = PageRequest.of(request.getPage(), request.getSize());
+            return contactRepository.searchResponses(searchSpecification(user, request), pageable, selectedFields);
+        });
+    }
+
+    /**
+     * Streams the matching page to the action row by row. The transaction, and
+     * with it the connection, stays open until the last row has been handed on.
+     */
+    @Transactional(readOnly = true)
+    public PagingResponse search(User user, SearchContactRequest request, Consumer<ContactResponse> action) {
+        List<String> selectedFields = validationService.validateFields(request.getFields(), ContactResponse.FIELDS);
+
+        Pageable pageable = PageRequest.of(request.getPage(), request.getSize());
+        long total = contactRepository.streamResponses(searchSpecification(user, request), pageable, selectedFields,
+                action);
+        return PagingResponse.builder()
+                .currentPage(pageable.getPageNumber())
+                .totalPage((int) Math.ceil((double) total / pageable.getPageSize()))
+                .size(pageable.getPageSize())
+                .build();
+    }
+
+    private Specification<Contact> searchSpecification(User user, SearchContactRequest request) {
+        return (root, query, builder) -> {
             List<Predicate> predicates = new ArrayList<>();
             predicates.add(builder.equal(root.get("user"), user));
             if (Objects.nonNull(request.getName())) {
@@ -110,12 +200,10 @@ public class ContactService {
 
             return query.where(predicates.toArray(new Predicate[] {})).getRestriction();
         };
+    }
 
-        Pageable pageable = PageRequest.of(request.getPage(), request.getSize());
-        Page<Contact> contacts = contactRepository.findAll(specification, pageable);
-
-        List<ContactResponse> contactResponses = contacts.getContent().stream().map(this::toContactResponse).toList();
-
-        return new PageImpl<>(contactResponses, pageable, contacts.getTotalElements());
+    private UUID parseContactId(String contactId) {
+        return UuidUtil.parse(contactId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
     }
 }
@@ -0,0 +1,127 @@
+package project.spring_restful_api.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import project.spring_restful_api.datasource.ReadYourWritesContext;
+import project.spring_restful_api.datasource.RequestDeadline;
+import project.spring_restful_api.entity.User;
+
+/**
+ * Collapses concurrent identical reads of one user into a single query. The
+ * first caller runs the query in its own read-only transaction, and callers
+ * arriving while it runs wait for and share its result or exception without
+ * taking a connection. Results are never kept once the query has finished.
+ * Every call is counted in app.single-flight.calls, tagged executed or
+ * coalesced.
+ */
+@Component
+public class SingleFlight {
+
+    private final Map<Key, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private final TransactionTemplate readOnly;
+
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T read(String name, User user, List<?> args, Supplier<T> query) {
+        Key key = new Key(name, user.getUsername(), ReadYourWritesContext.isPinned(), args);
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> running = calls.putIfAbsent(key, call);
+        if (running != null) {
+            counter(name, "coalesced").increment();
+            return (T) await(running);
+        }
+
+        counter(name, "executed").increment();
+        try {
+            T result = readOnly.execute(status -> query.get());
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    /**
+     * Stops later reads of the user from joining queries that started before
+     * the current transaction commits, so a client always reads its own writes.
+     */
+    public void forgetAfterCommit(User user) {
+        String username = user.getUsername();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            forget(username);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                forget(username);
+            }
+        });
+    }
+
+    private void forget(String username) {
+        calls.keySet().removeIf(key -> key.username().equals(username));
+    }
+
+    private Counter counter(String name, String outcome) {
+        return counters.computeIfAbsent(name + ':' + outcome, ignored -> Counter.builder("app.single-flight.calls")
+                .tag("call", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    // Waits no longer than the caller's own request deadline.
+    private static Object await(CompletableFuture<Object> call) {
+        long remaining = RequestDeadline.remainingNanos();
+        try {
+            return remaining == Long.MAX_VALUE ? call.join() : call.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (CompletionException | ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new TransactionTimedOutException("Request deadline exceeded");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a coalesced read", e);
+        }
+    }
+
+    private record Key(String name, String username, boolean pinned, List<?> args) {
+    }
+}
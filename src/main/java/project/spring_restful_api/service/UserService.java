@@ -4,8 +4,8 @@ import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import project.spring_restful_api.entity.User;
@@ -24,7 +24,6 @@ public class UserService {
     @Autowired
     private ValidationService validationService;
 
-    @Transactional
     public void register(RegisterUserRequest request) {
         validationService.validate(request);
 
@@ -44,20 +43,27 @@ public class UserService {
         return UserResponse.builder().username(user.getUsername()).name(user.getName()).build();
     }
 
-    @Transactional
+    // Hashing stays outside any transaction; the save is one versioned UPDATE.
     public UserResponse update(User user, UpdateUserRequest request) {
         validationService.validate(request);
 
+        User stored = userRepository.findById(user.getUsername())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized"));
         if (Objects.nonNull(request.getName())) {
-            user.setName(request.getName());
+            stored.setName(request.getName());
         }
-
         if (Objects.nonNull(request.getPassword())) {
-            user.setPassword(BCrypt.hashpw(request.getPassword(), BCrypt.gensalt()));
+            stored.setPassword(BCrypt.hashpw(request.getPassword(), BCrypt.gensalt()));
+        }
+        try {
+            userRepository.save(stored);
+        } catch (ObjectOptimisticLockingFailureException exception) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "User was modified");
         }
 
-        userRepository.save(user);
-
-        return UserResponse.builder().username(user.getUsername()).name(user.getName()).build();
+        return UserResponse.builder()
+                .username(stored.getUsername())
+                .name(stored.getName())
+                .build();
     }
 }
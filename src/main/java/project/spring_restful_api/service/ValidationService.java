@@ -4,10 +4,14 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class ValidationService {
@@ -21,4 +25,24 @@ public class ValidationService {
             throw new ConstraintViolationException(constraintViolations);
         }
     }
+
+    public List<String> validateFields(String fields, List<String> allowedFields) {
+        if (fields == null || fields.isBlank()) {
+            return allowedFields;
+        }
+
+        List<String> selectedFields = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty() || selectedFields.contains(name)) {
+                continue;
+            }
+            if (!allowedFields.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field " + name);
+            }
+            selectedFields.add(name);
+        }
+
+        return selectedFields.isEmpty() ? allowedFields : selectedFields;
+    }
 }
@@ -0,0 +1,82 @@
+package project.spring_restful_api.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+public final class ETagUtil {
+
+    private ETagUtil() {
+    }
+
+    public static String toETag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String toETag(long version, String fields) {
+        if (fields == null || fields.isBlank()) {
+            return toETag(version);
+        }
+        return "\"" + version + "-" + Integer.toHexString(fields.trim().hashCode()) + "\"";
+    }
+
+    /**
+     * Tag for one encoding of a representation. JSON keeps the plain tag; CBOR
+     * and Smile bodies differ byte for byte, so their tags carry the subtype.
+     */
+    public static String toETag(long version, String fields, MediaType encoding) {
+        String eTag = toETag(version, fields);
+        if (MediaType.APPLICATION_JSON.equalsTypeAndSubtype(encoding)) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + "-" + encoding.getSubtype() + "\"";
+    }
+
+    /**
+     * Weak comparison against every entity tag in an If-None-Match header, as
+     * required for GET revalidation.
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Version named by an If-Match header, null when any version may be
+     * replaced. If-Match uses strong comparison, so a weak tag never matches;
+     * anything after the version, such as a field selection hash or an
+     * encoding, is the same stored version.
+     */
+    public static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String value = ifMatch.trim();
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not match");
+        }
+        value = value.substring(1, value.length() - 1);
+        int suffix = value.indexOf('-');
+        if (suffix >= 0) {
+            value = value.substring(0, suffix);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException exception) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not match");
+        }
+    }
+}
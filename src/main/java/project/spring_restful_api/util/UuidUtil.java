@@ -0,0 +1,61 @@
+package project.spring_restful_api.util;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.Optional;
+import java.util.UUID;
+
+public final class UuidUtil {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private UuidUtil() {
+    }
+
+    /**
+     * RFC 9562 version 7: 48 bit unix millisecond timestamp followed by random
+     * bits, so keys generated later sort after earlier ones in a BINARY(16)
+     * primary key and inserts append to the right edge of the clustered index.
+     */
+    public static UUID randomV7() {
+        byte[] random = new byte[10];
+        RANDOM.nextBytes(random);
+
+        long timestamp = System.currentTimeMillis();
+        long mostSigBits = (timestamp << 16)
+                | 0x7000L
+                | ((random[0] & 0x0FL) << 8)
+                | (random[1] & 0xFFL);
+
+        long leastSigBits = 0;
+        for (int i = 2; i < random.length; i++) {
+            leastSigBits = (leastSigBits << 8) | (random[i] & 0xFFL);
+        }
+        leastSigBits = (leastSigBits & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static Optional<UUID> parse(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(UUID.fromString(value));
+        } catch (IllegalArgumentException exception) {
+            return Optional.empty();
+        }
+    }
+
+    public static byte[] toBytes(UUID value) {
+        return ByteBuffer.allocate(16)
+                .putLong(value.getMostSignificantBits())
+                .putLong(value.getLeastSignificantBits())
+                .array();
+    }
+
+    public static UUID fromBytes(byte[] value) {
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,50 @@
+-- Converts contacts.id, addresses.id and addresses.contact_id from VARCHAR(100)
+-- UUID strings to BINARY(16). Existing keys keep their value in the byte order
+-- Hibernate uses for java.util.UUID; new keys are generated as time ordered
+-- UUIDv7 by the application. UNHEX is used instead of UUID_TO_BIN so the script
+-- also runs on MariaDB.
+
+ALTER TABLE contacts
+    ADD COLUMN id_bin BINARY(16);
+
+UPDATE contacts
+SET id_bin = UNHEX(REPLACE(id, '-', ''));
+
+ALTER TABLE addresses
+    ADD COLUMN id_bin         BINARY(16),
+    ADD COLUMN contact_id_bin BINARY(16);
+
+UPDATE addresses
+SET id_bin         = UNHEX(REPLACE(id, '-', '')),
+    contact_id_bin = UNHEX(REPLACE(contact_id, '-', ''));
+
+SET @fk_contacts_addresses = (SELECT CONSTRAINT_NAME
+                              FROM information_schema.REFERENTIAL_CONSTRAINTS
+                              WHERE CONSTRAINT_SCHEMA = DATABASE()
+                                AND TABLE_NAME = 'addresses'
+                                AND REFERENCED_TABLE_NAME = 'contacts');
+SET @drop_fk = CONCAT('ALTER TABLE addresses DROP FOREIGN KEY ', @fk_contacts_addresses);
+PREPARE drop_fk FROM @drop_fk;
+EXECUTE drop_fk;
+DEALLOCATE PREPARE drop_fk;
+
+ALTER TABLE addresses
+    DROP PRIMARY KEY,
+    DROP COLUMN id,
+    DROP COLUMN contact_id;
+
+ALTER TABLE addresses
+    CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST,
+    CHANGE COLUMN contact_id_bin contact_id BINARY(16) NOT NULL AFTER id,
+    ADD PRIMARY KEY (id);
+
+ALTER TABLE contacts
+    DROP PRIMARY KEY,
+    DROP COLUMN id;
+
+ALTER TABLE contacts
+    CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST,
+    ADD PRIMARY KEY (id);
+
+ALTER TABLE addresses
+    ADD CONSTRAINT fk_contacts_addresses FOREIGN KEY (contact_id) REFERENCES contacts (id);
@@ -0,0 +1,18 @@
+-- contacts: ContactRepository.findFirstByUserAndId / existsByUserAndId resolve
+-- through the primary key. The search endpoint filters by username and then
+-- runs LIKE on the name, email and phone columns, so all of them are in one
+-- index. The LIKE filters and the count query are then answered from the index
+-- without reading the clustered rows. This index also backs the users foreign
+-- key, so the single column one is dropped.
+CREATE INDEX idx_contacts_username_search ON contacts (username, first_name, last_name, email, phone);
+
+ALTER TABLE contacts
+    DROP INDEX fk_users_contacts;
+
+-- addresses: every address lookup is scoped by contact_id, either listing a
+-- contact's addresses or matching (contact_id, id). The secondary index keeps
+-- those rows adjacent in id order and backs the contacts foreign key.
+CREATE INDEX idx_addresses_contact_id_id ON addresses (contact_id, id);
+
+ALTER TABLE addresses
+    DROP INDEX fk_contacts_addresses;
@@ -0,0 +1,13 @@
+-- Soft deleted contacts keep their rows until the purge job removes them.
+-- The live search index leads with (username, deleted_at) so the
+-- deleted_at IS NULL filter is still answered from the index, and the
+-- purge job finds its batches through idx_contacts_deleted_at.
+ALTER TABLE contacts
+    ADD COLUMN deleted_at BIGINT NULL;
+
+CREATE INDEX idx_contacts_username_live_search ON contacts (username, deleted_at, first_name, last_name, email, phone);
+
+ALTER TABLE contacts
+    DROP INDEX idx_contacts_username_search;
+
+CREATE INDEX idx_contacts_deleted_at ON contacts (deleted_at);
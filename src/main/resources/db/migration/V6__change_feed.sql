@@ -0,0 +1,22 @@
+-- One counter row per user. Bumping it takes the row lock, so a user's
+-- writes commit in sequence order and a cursor never skips a change.
+CREATE TABLE sync_cursors
+(
+    username VARCHAR(100) NOT NULL,
+    seq      BIGINT       NOT NULL,
+    PRIMARY KEY (username)
+) ENGINE InnoDB;
+
+-- Latest change per contact or address, tombstones included. Rewriting the
+-- row on every change keeps the feed a delta of distinct entities.
+CREATE TABLE sync_changes
+(
+    entity_id   BINARY(16)  NOT NULL,
+    username    VARCHAR(100) NOT NULL,
+    contact_id  BINARY(16)  NOT NULL,
+    entity_type VARCHAR(16) NOT NULL,
+    deleted     BOOLEAN     NOT NULL,
+    seq         BIGINT      NOT NULL,
+    PRIMARY KEY (entity_id),
+    INDEX idx_sync_changes_username_seq (username, seq)
+) ENGINE InnoDB;
@@ -0,0 +1,18 @@
+package project.spring_restful_api;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import project.spring_restful_api.reactive.ReactiveApplication;
+
+@SpringBootTest(classes = ReactiveApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReactiveLoadBenchmarkTest extends LoadBenchmark {
+
+        @Override
+        protected String mode() {
+                return "webflux";
+        }
+}
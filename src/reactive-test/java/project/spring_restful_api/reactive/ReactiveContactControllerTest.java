@@ -0,0 +1,197 @@
+package project.spring_restful_api.reactive;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import project.spring_restful_api.model.AddressResponse;
+import project.spring_restful_api.model.ContactResponse;
+import project.spring_restful_api.model.CreateAddressRequest;
+import project.spring_restful_api.model.CreateContactRequest;
+import project.spring_restful_api.model.UpdateContactRequest;
+import project.spring_restful_api.model.WebResponse;
+import project.spring_restful_api.security.BCrypt;
+import project.spring_restful_api.util.UuidUtil;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ReactiveApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+class ReactiveContactControllerTest {
+
+        @Autowired
+        private WebTestClient webTestClient;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @BeforeEach
+        void setUp() {
+                jdbcTemplate.update("DELETE FROM addresses");
+                jdbcTemplate.update("DELETE FROM contacts");
+                jdbcTemplate.update("DELETE FROM users");
+
+                jdbcTemplate.update("INSERT INTO users (username, password, name, token, token_expired_at) "
+                                + "VALUES (?, ?, ?, ?, ?)", "helmy_fadlail", BCrypt.hashpw("rahasia", BCrypt.gensalt()),
+                                "Helmy Fadlail", "test_token", System.currentTimeMillis() + 1000000000);
+        }
+
+        @Test
+        void createAndGetContact() throws Exception {
+                CreateContactRequest request = new CreateContactRequest();
+                request.setFirstName("Helmy");
+                request.setLastName("Fadlail");
+                request.setEmail("helmyfadlail.5@gmail.com");
+                request.setPhone("081334105663");
+
+                byte[] created = webTestClient.post()
+                                .uri("/api/contacts")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header("X-API-TOKEN", "test_token")
+                                .bodyValue(request)
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody().returnResult().getResponseBody();
+                WebResponse<ContactResponse> response = objectMapper.readValue(created, new TypeReference<>() {
+                });
+                assertNull(response.getErrors());
+                assertEquals("Helmy", response.getData().getFirstName());
+
+                webTestClient.get()
+                                .uri("/api/contacts/" + response.getData().getId() + "?fields=id,email")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header("X-API-TOKEN", "test_token")
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectHeader().exists("ETag")
+                                .expectBody()
+                                .jsonPath("$.data.id").isEqualTo(response.getData().getId())
+                                .jsonPath("$.data.email").isEqualTo("helmyfadlail.5@gmail.com")
+                                .jsonPath("$.data.firstName").doesNotExist();
+        }
+
+        @Test
+        void partialUpdateKeepsStoredFields() {
+                UUID contactId = UuidUtil.randomV7();
+                jdbcTemplate.update("INSERT INTO contacts (id, username, first_name, last_name, email, phone) "
+                                + "VALUES (?, ?, ?, ?, ?, ?)", UuidUtil.toBytes(contactId), "helmy_fadlail", "Helmy",
+                                "Fadlail", "helmyfadlail.5@gmail.com", "081334105663");
+
+                UpdateContactRequest request = new UpdateContactRequest();
+                request.setFirstName("Budi");
+
+                webTestClient.patch()
+                                .uri("/api/contacts/" + contactId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header("X-API-TOKEN", "test_token")
+                                .header("If-Match", "\"0\"")
+                                .bodyValue(request)
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectHeader().valueEquals("ETag", "\"1\"")
+                                .expectBody()
+                                .jsonPath("$.data.id").isEqualTo(contactId.toString())
+                                .jsonPath("$.data.firstName").isEqualTo("Budi")
+                                .jsonPath("$.data.lastName").isEqualTo("Fadlail")
+                                .jsonPath("$.data.email").isEqualTo("helmyfadlail.5@gmail.com")
+                                .jsonPath("$.data.phone").isEqualTo("081334105663");
+        }
+
+        @Test
+        void getContactUnauthorized() {
+                webTestClient.get()
+                                .uri("/api/contacts/" + UUID.randomUUID())
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header("X-API-TOKEN", "salah")
+                                .exchange()
+                                .expectStatus().isUnauthorized()
+                                .expectBody()
+                                .jsonPath("$.errors").isEqualTo("Unauthorized");
+        }
+
+        @Test
+        void searchStreamsPage() throws Exception {
+                for (int i = 0; i < 15; i++) {
+                        jdbcTemplate.update("INSERT INTO contacts (id, username, first_name, last_name) VALUES (?, ?, ?, ?)",
+                                        UuidUtil.toBytes(UuidUtil.randomV7()), "helmy_fadlail", "Helmy " + i, "Fadlail");
+                }
+
+                byte[] body = webTestClient.get()
+                                .uri("/api/contacts?name=Helmy&page=1&size=10")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header("X-API-TOKEN", "test_token")
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody().returnResult().getResponseBody();
+                WebResponse<List<ContactResponse>> response = objectMapper.readValue(body, new TypeReference<>() {
+                });
+                assertNull(response.getErrors());
+                assertEquals(5, response.getData().size());
+                assertEquals(2, response.getPaging().getTotalPage());
+                assertEquals(1, response.getPaging().getCurrentPage());
+                assertEquals(10, response.getPaging().getSize());
+
+                webTestClient.get()
+                                .uri("/api/contacts?fields=unknown")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header("X-API-TOKEN", "test_token")
+                                .exchange()
+                                .expectStatus().isBadRequest();
+        }
+
+        @Test
+        void createAndListAddresses() throws Exception {
+                UUID contactId = UuidUtil.randomV7();
+                jdbcTemplate.update("INSERT INTO contacts (id, username, first_name) VALUES (?, ?, ?)",
+                                UuidUtil.toBytes(contactId), "helmy_fadlail", "Helmy");
+
+                CreateAddressRequest request = new CreateAddressRequest();
+                request.setStreet("Jalan");
+                request.setCity("Malang");
+                request.setCountry("Indonesia");
+
+                webTestClient.post()
+                                .uri("/api/contacts/" + contactId + "/addresses")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header("X-API-TOKEN", "test_token")
+                                .bodyValue(request)
+                                .exchange()
+                                .expectStatus().isOk();
+
+                byte[] body = webTestClient.get()
+                                .uri("/api/contacts/" + contactId + "/addresses")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header("X-API-TOKEN", "test_token")
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody().returnResult().getResponseBody();
+                WebResponse<List<AddressResponse>> response = objectMapper.readValue(body, new TypeReference<>() {
+                });
+                assertEquals(1, response.getData().size());
+                assertEquals("Indonesia", response.getData().getFirst().getCountry());
+
+                webTestClient.get()
+                                .uri("/api/contacts/" + UUID.randomUUID() + "/addresses")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header("X-API-TOKEN", "test_token")
+                                .exchange()
+                                .expectStatus().isNotFound()
+                                .expectBody()
+                                .jsonPath("$.errors").isEqualTo("Contact not found");
+        }
+}
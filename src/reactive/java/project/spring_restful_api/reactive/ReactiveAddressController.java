@@ -0,0 +1,93 @@
+package project.spring_restful_api.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import project.spring_restful_api.entity.User;
+import project.spring_restful_api.model.AddressResponse;
+import project.spring_restful_api.model.CreateAddressRequest;
+import project.spring_restful_api.model.UpdateAddressRequest;
+import project.spring_restful_api.model.WebResponse;
+import project.spring_restful_api.util.ETagUtil;
+
+@RestController
+public class ReactiveAddressController {
+    @Autowired
+    private ReactiveAddressService reactiveAddressService;
+
+    @Autowired
+    private WebResponseBodyWriter webResponseBodyWriter;
+
+    @PostMapping(path = "/api/contacts/{contactId}/addresses", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<WebResponse<AddressResponse>> create(User user, @RequestBody CreateAddressRequest request,
+            @PathVariable("contactId") String contactId) {
+        request.setContactId(contactId);
+        return reactiveAddressService.create(user, request)
+                .map(addressResponse -> WebResponse.<AddressResponse>builder().data(addressResponse).build());
+    }
+
+    @GetMapping(path = "/api/contacts/{contactId}/addresses/{addressId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<DataBuffer> get(User user,
+            @PathVariable("contactId") String contactId,
+            @PathVariable("addressId") String addressId,
+            @RequestParam(value = "fields", required = false) String fields) {
+        return reactiveAddressService.get(user, contactId, addressId, fields)
+                .flatMap(addressResponse -> webResponseBodyWriter.write(addressResponse, fields));
+    }
+
+    @PatchMapping(path = "/api/contacts/{contactId}/addresses/{addressId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<WebResponse<AddressResponse>>> update(User user,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @RequestBody UpdateAddressRequest request,
+            @PathVariable("contactId") String contactId,
+            @PathVariable("addressId") String addressId) {
+        request.setContactId(contactId);
+        request.setAddressId(addressId);
+        request.setVersion(ETagUtil.parseVersion(ifMatch));
+        return reactiveAddressService.update(user, request)
+                .map(addressResponse -> ResponseEntity.ok()
+                        .eTag(ETagUtil.toETag(addressResponse.getVersion()))
+                        .body(WebResponse.<AddressResponse>builder().data(addressResponse).build()));
+    }
+
+    @DeleteMapping(path = "/api/contacts/{contactId}/addresses/{addressId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<WebResponse<String>> delete(User user,
+            @PathVariable("contactId") String contactId,
+            @PathVariable("addressId") String addressId) {
+        return reactiveAddressService.delete(user, contactId, addressId)
+                .thenReturn(WebResponse.<String>builder().data("OK").build());
+    }
+
+    @GetMapping(path = "/api/contacts/{contactId}/addresses", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> list(User user,
+            @PathVariable("contactId") String contactId,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return reactiveAddressService.listVersion(user, contactId).map(version -> {
+            String eTag = ETagUtil.toETag(version, fields);
+            if (ETagUtil.matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<Flux<DataBuffer>>build();
+            }
+
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(webResponseBodyWriter.writeList(
+                            reactiveAddressService.list(user, contactId, fields), fields, null));
+        });
+    }
+}
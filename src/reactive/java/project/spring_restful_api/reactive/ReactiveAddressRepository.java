@@ -0,0 +1,160 @@
+package project.spring_restful_api.reactive;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import project.spring_restful_api.model.AddressResponse;
+import project.spring_restful_api.util.UuidUtil;
+
+@Repository
+public class ReactiveAddressRepository {
+
+    private static final Map<String, String> COLUMNS = Map.of(
+            "id", "a.id",
+            "street", "a.street",
+            "city", "a.city",
+            "province", "a.province",
+            "country", "a.country",
+            "postalCode", "a.postal_code");
+
+    private static final String OWNED_CONTACT = "EXISTS (SELECT c.id FROM contacts c "
+            + "WHERE c.id = :contactId AND c.username = :username AND c.deleted_at IS NULL)";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Mono<Long> insert(UUID contactId, UUID id, String street, String city, String province,
+            String country, String postalCode) {
+        return bind(databaseClient.sql("INSERT INTO addresses "
+                + "(id, contact_id, street, city, province, country, postal_code, version) "
+                + "VALUES (:id, :contactId, :street, :city, :province, :country, :postalCode, 0)")
+                .bind("id", UuidUtil.toBytes(id))
+                .bind("contactId", UuidUtil.toBytes(contactId)), street, city, province, country, postalCode)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<AddressResponse> findResponse(String username, UUID contactId, UUID id, List<String> fields) {
+        return databaseClient.sql("SELECT " + columns(fields) + " FROM addresses a "
+                + "WHERE a.id = :id AND a.contact_id = :contactId AND " + OWNED_CONTACT)
+                .bind("id", UuidUtil.toBytes(id))
+                .bind("contactId", UuidUtil.toBytes(contactId))
+                .bind("username", username)
+                .map(row -> toAddressResponse(row, fields))
+                .one();
+    }
+
+    /**
+     * Rows are read as the subscriber requests them, so a slow client holds
+     * back the driver instead of filling memory.
+     */
+    public Flux<AddressResponse> findResponses(String username, UUID contactId, List<String> fields) {
+        return databaseClient.sql("SELECT " + columns(fields) + " FROM addresses a "
+                + "WHERE a.contact_id = :contactId AND " + OWNED_CONTACT)
+                .bind("contactId", UuidUtil.toBytes(contactId))
+                .bind("username", username)
+                .map(row -> toAddressResponse(row, fields))
+                .all();
+    }
+
+    public Mono<Boolean> exists(UUID contactId, UUID id) {
+        return databaseClient.sql("SELECT 1 FROM addresses WHERE id = :id AND contact_id = :contactId")
+                .bind("id", UuidUtil.toBytes(id))
+                .bind("contactId", UuidUtil.toBytes(contactId))
+                .fetch()
+                .first()
+                .hasElement();
+    }
+
+    /**
+     * Every field of the row plus its version, as an update left it.
+     */
+    public Mono<AddressResponse> findStored(UUID id) {
+        return databaseClient.sql("SELECT " + columns(AddressResponse.FIELDS) + ", a.version FROM addresses a "
+                + "WHERE a.id = :id")
+                .bind("id", UuidUtil.toBytes(id))
+                .map(row -> {
+                    AddressResponse response = toAddressResponse(row, AddressResponse.FIELDS);
+                    response.setVersion(row.get("version", Long.class));
+                    return response;
+                })
+                .one();
+    }
+
+    public Mono<Long> update(String username, UUID contactId, UUID id, String street, String city,
+            String province, String country, String postalCode, Long version) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("UPDATE addresses a SET "
+                + "a.street = COALESCE(:street, a.street), a.city = COALESCE(:city, a.city), "
+                + "a.province = COALESCE(:province, a.province), a.country = COALESCE(:country, a.country), "
+                + "a.postal_code = COALESCE(:postalCode, a.postal_code), a.version = a.version + 1 "
+                + "WHERE a.id = :id AND a.contact_id = :contactId "
+                + "AND (:version IS NULL OR a.version = :version) AND " + OWNED_CONTACT)
+                .bind("id", UuidUtil.toBytes(id))
+                .bind("contactId", UuidUtil.toBytes(contactId))
+                .bind("username", username);
+        spec = bind(spec, street, city, province, country, postalCode);
+        spec = version != null ? spec.bind("version", version) : spec.bindNull("version", Long.class);
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Mono<Long> delete(String username, UUID contactId, UUID id) {
+        return databaseClient.sql("DELETE a FROM addresses a "
+                + "WHERE a.id = :id AND a.contact_id = :contactId AND " + OWNED_CONTACT)
+                .bind("id", UuidUtil.toBytes(id))
+                .bind("contactId", UuidUtil.toBytes(contactId))
+                .bind("username", username)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteAll(String username, UUID contactId) {
+        return databaseClient.sql("DELETE a FROM addresses a WHERE a.contact_id = :contactId AND " + OWNED_CONTACT)
+                .bind("contactId", UuidUtil.toBytes(contactId))
+                .bind("username", username)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, String street,
+            String city, String province, String country, String postalCode) {
+        spec = bindNullable(spec, "street", street);
+        spec = bindNullable(spec, "city", city);
+        spec = bindNullable(spec, "province", province);
+        spec = bindNullable(spec, "country", country);
+        return bindNullable(spec, "postalCode", postalCode);
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name,
+            String value) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, String.class);
+    }
+
+    private String columns(List<String> fields) {
+        return fields.stream().map(COLUMNS::get).collect(Collectors.joining(", "));
+    }
+
+    private AddressResponse toAddressResponse(Readable row, List<String> fields) {
+        AddressResponse response = new AddressResponse();
+        for (String field : fields) {
+            switch (field) {
+                case "id" -> response.setId(UuidUtil.fromBytes(row.get("id", byte[].class)).toString());
+                case "street" -> response.setStreet(row.get("street", String.class));
+                case "city" -> response.setCity(row.get("city", String.class));
+                case "province" -> response.setProvince(row.get("province", String.class));
+                case "country" -> response.setCountry(row.get("country", String.class));
+                case "postalCode" -> response.setPostalCode(row.get("postal_code", String.class));
+                default -> throw new IllegalArgumentException("Unknown address field " + field);
+            }
+        }
+        return response;
+    }
+}
@@ -0,0 +1,158 @@
+package project.spring_restful_api.reactive;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import project.spring_restful_api.entity.SyncChange;
+import project.spring_restful_api.entity.User;
+import project.spring_restful_api.model.AddressResponse;
+import project.spring_restful_api.model.CreateAddressRequest;
+import project.spring_restful_api.model.UpdateAddressRequest;
+import project.spring_restful_api.service.ValidationService;
+import project.spring_restful_api.util.UuidUtil;
+
+@Service
+public class ReactiveAddressService {
+    @Autowired
+    private ReactiveAddressRepository reactiveAddressRepository;
+
+    @Autowired
+    private ReactiveContactRepository reactiveContactRepository;
+
+    @Autowired
+    private ReactiveChangeRepository reactiveChangeRepository;
+
+    @Autowired
+    private ValidationService validationService;
+
+    @Transactional
+    public Mono<AddressResponse> create(User user, CreateAddressRequest request) {
+        return Mono.defer(() -> {
+            validationService.validate(request);
+            UUID contactId = parseContactId(request.getContactId());
+            UUID id = UuidUtil.randomV7();
+
+            return reactiveContactRepository.exists(user.getUsername(), contactId)
+                    .flatMap(exists -> exists
+                            ? reactiveAddressRepository.insert(contactId, id, request.getStreet(), request.getCity(),
+                                    request.getProvince(), request.getCountry(), request.getPostalCode())
+                            : Mono.<Long>error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found")))
+                    .then(reactiveChangeRepository.record(user.getUsername(), SyncChange.ADDRESS, id, contactId, false))
+                    .thenReturn(AddressResponse.builder()
+                            .id(id.toString())
+                            .street(request.getStreet())
+                            .city(request.getCity())
+                            .province(request.getProvince())
+                            .country(request.getCountry())
+                            .postalCode(request.getPostalCode())
+                            .version(0L)
+                            .build());
+        });
+    }
+
+    public Mono<AddressResponse> get(User user, String contactId, String addressId, String fields) {
+        return Mono.defer(() -> {
+            List<String> selectedFields = validationService.validateFields(fields, AddressResponse.FIELDS);
+            UUID contactUuid = parseContactId(contactId);
+            return UuidUtil.parse(addressId)
+                    .map(addressUuid -> reactiveAddressRepository.findResponse(user.getUsername(), contactUuid,
+                            addressUuid, selectedFields))
+                    .orElse(Mono.empty())
+                    .switchIfEmpty(notFound(user, contactUuid));
+        });
+    }
+
+    @Transactional
+    public Mono<AddressResponse> update(User user, UpdateAddressRequest request) {
+        return Mono.defer(() -> {
+            validationService.validate(request);
+            UUID contactUuid = parseContactId(request.getContactId());
+            UUID addressUuid = UuidUtil.parse(request.getAddressId()).orElse(null);
+            if (addressUuid == null) {
+                return this.<AddressResponse>notFound(user, contactUuid);
+            }
+
+            return reactiveAddressRepository.update(user.getUsername(), contactUuid, addressUuid, request.getStreet(),
+                    request.getCity(), request.getProvince(), request.getCountry(), request.getPostalCode(),
+                    request.getVersion())
+                    .flatMap(updated -> {
+                        if (updated > 0) {
+                            // A PATCH leaves unsent fields as stored, so the
+                            // response is read back inside the transaction.
+                            return reactiveAddressRepository.findStored(addressUuid);
+                        }
+                        if (Objects.isNull(request.getVersion())) {
+                            return this.<AddressResponse>notFound(user, contactUuid);
+                        }
+                        return reactiveContactRepository.exists(user.getUsername(), contactUuid)
+                                .filter(Boolean::booleanValue)
+                                .flatMap(exists -> reactiveAddressRepository.exists(contactUuid, addressUuid))
+                                .flatMap(exists -> exists
+                                        ? Mono.<AddressResponse>error(new ResponseStatusException(
+                                                HttpStatus.PRECONDITION_FAILED, "Address was modified"))
+                                        : this.<AddressResponse>notFound(user, contactUuid))
+                                .switchIfEmpty(notFound(user, contactUuid));
+                    })
+                    .flatMap(stored -> reactiveChangeRepository
+                            .record(user.getUsername(), SyncChange.ADDRESS, addressUuid, contactUuid, false)
+                            .thenReturn(stored));
+        });
+    }
+
+    @Transactional
+    public Mono<Void> delete(User user, String contactId, String addressId) {
+        return Mono.defer(() -> {
+            UUID contactUuid = parseContactId(contactId);
+            UUID addressUuid = UuidUtil.parse(addressId).orElse(null);
+            if (addressUuid == null) {
+                return this.<Void>notFound(user, contactUuid);
+            }
+
+            return reactiveAddressRepository.delete(user.getUsername(), contactUuid, addressUuid)
+                    .flatMap(deleted -> deleted == 0
+                            ? this.<Void>notFound(user, contactUuid)
+                            : reactiveChangeRepository.record(user.getUsername(), SyncChange.ADDRESS, addressUuid,
+                                    contactUuid, true));
+        });
+    }
+
+    /**
+     * Same list version as the servlet API: the user's change feed cursor,
+     * after checking the contact exists.
+     */
+    public Mono<Long> listVersion(User user, String contactId) {
+        return Mono.defer(() -> reactiveContactRepository.exists(user.getUsername(), parseContactId(contactId)))
+                .flatMap(exists -> exists
+                        ? reactiveChangeRepository.findCursor(user.getUsername())
+                        : Mono.<Long>error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found")));
+    }
+
+    /**
+     * Addresses as the database produces them; call after listVersion, which
+     * has already answered 404 for a missing contact.
+     */
+    public Flux<AddressResponse> list(User user, String contactId, String fields) {
+        List<String> selectedFields = validationService.validateFields(fields, AddressResponse.FIELDS);
+        return reactiveAddressRepository.findResponses(user.getUsername(), parseContactId(contactId), selectedFields);
+    }
+
+    private UUID parseContactId(String contactId) {
+        return UuidUtil.parse(contactId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
+    }
+
+    private <T> Mono<T> notFound(User user, UUID contactId) {
+        return reactiveContactRepository.exists(user.getUsername(), contactId)
+                .flatMap(exists -> Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        exists ? "Address not found" : "Contact not found")));
+    }
+}
@@ -0,0 +1,21 @@
+package project.spring_restful_api.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Entry point of the WebFlux/R2DBC variant. Only this package is scanned; the
+ * servlet application excludes it from its own scan.
+ */
+@SpringBootApplication
+public class ReactiveApplication {
+
+	public static void main(String[] args) {
+		new SpringApplicationBuilder(ReactiveApplication.class)
+				.web(WebApplicationType.REACTIVE)
+				.profiles("reactive")
+				.run(args);
+	}
+
+}
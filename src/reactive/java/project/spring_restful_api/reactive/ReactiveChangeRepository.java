@@ -0,0 +1,45 @@
+package project.spring_restful_api.reactive;
+
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import project.spring_restful_api.util.UuidUtil;
+
+/**
+ * Same sync_cursors/sync_changes writes as SyncChangeRepository, so the change
+ * feed and list ETags of the servlet API stay valid for writes made here.
+ */
+@Repository
+public class ReactiveChangeRepository {
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Mono<Void> record(String username, String entityType, UUID entityId, UUID contactId, boolean deleted) {
+        return databaseClient.sql("INSERT INTO sync_cursors (username, seq) VALUES (:username, 1) "
+                + "ON DUPLICATE KEY UPDATE seq = seq + 1")
+                .bind("username", username)
+                .then()
+                .then(databaseClient.sql("INSERT INTO sync_changes (entity_id, username, contact_id, entity_type, deleted, seq) "
+                        + "SELECT :entityId, :username, :contactId, :entityType, :deleted, seq "
+                        + "FROM sync_cursors WHERE username = :username "
+                        + "ON DUPLICATE KEY UPDATE deleted = VALUES(deleted), seq = VALUES(seq)")
+                        .bind("entityId", UuidUtil.toBytes(entityId))
+                        .bind("username", username)
+                        .bind("contactId", UuidUtil.toBytes(contactId))
+                        .bind("entityType", entityType)
+                        .bind("deleted", deleted)
+                        .then());
+    }
+
+    public Mono<Long> findCursor(String username) {
+        return databaseClient.sql("SELECT seq FROM sync_cursors WHERE username = :username")
+                .bind("username", username)
+                .map(row -> row.get("seq", Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+}
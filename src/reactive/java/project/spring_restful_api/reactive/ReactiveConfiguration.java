@@ -0,0 +1,30 @@
+package project.spring_restful_api.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+import project.spring_restful_api.serializer.ResponseSerializerModule;
+import project.spring_restful_api.service.ValidationService;
+
+@Configuration
+@Import(ValidationService.class)
+public class ReactiveConfiguration implements WebFluxConfigurer {
+
+    @Autowired
+    private ReactiveUserArgumentResolver reactiveUserArgumentResolver;
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(reactiveUserArgumentResolver);
+    }
+
+    @Bean
+    public ResponseSerializerModule responseSerializerModule() {
+        return new ResponseSerializerModule();
+    }
+
+}
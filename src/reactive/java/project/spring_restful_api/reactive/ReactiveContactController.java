@@ -0,0 +1,98 @@
+package project.spring_restful_api.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import project.spring_restful_api.entity.User;
+import project.spring_restful_api.model.ContactResponse;
+import project.spring_restful_api.model.CreateContactRequest;
+import project.spring_restful_api.model.SearchContactRequest;
+import project.spring_restful_api.model.UpdateContactRequest;
+import project.spring_restful_api.model.WebResponse;
+import project.spring_restful_api.util.ETagUtil;
+
+@RestController
+public class ReactiveContactController {
+
+    @Autowired
+    private ReactiveContactService reactiveContactService;
+
+    @Autowired
+    private WebResponseBodyWriter webResponseBodyWriter;
+
+    @PostMapping(path = "/api/contacts", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<WebResponse<ContactResponse>> create(User user, @RequestBody CreateContactRequest request) {
+        return reactiveContactService.create(user, request)
+                .map(contactResponse -> WebResponse.<ContactResponse>builder().data(contactResponse).build());
+    }
+
+    @GetMapping(path = "/api/contacts/{contactId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<DataBuffer>> get(User user, @PathVariable("contactId") String contactId,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return reactiveContactService.version(user, contactId).flatMap(version -> {
+            String eTag = ETagUtil.toETag(version, fields);
+            if (ETagUtil.matches(ifNoneMatch, eTag)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<DataBuffer>build());
+            }
+
+            return reactiveContactService.get(user, contactId, fields)
+                    .flatMap(contactResponse -> webResponseBodyWriter.write(contactResponse, fields))
+                    .map(body -> ResponseEntity.ok().eTag(eTag).contentType(MediaType.APPLICATION_JSON).body(body));
+        });
+    }
+
+    @PatchMapping(path = "/api/contacts/{contactId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<WebResponse<ContactResponse>>> update(User user,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @RequestBody UpdateContactRequest request,
+            @PathVariable("contactId") String contactId) {
+        request.setId(contactId);
+        request.setVersion(ETagUtil.parseVersion(ifMatch));
+        return reactiveContactService.update(user, request)
+                .map(contactResponse -> ResponseEntity.ok()
+                        .eTag(ETagUtil.toETag(contactResponse.getVersion()))
+                        .body(WebResponse.<ContactResponse>builder().data(contactResponse).build()));
+    }
+
+    @DeleteMapping(path = "/api/contacts/{contactId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<WebResponse<String>> delete(User user, @PathVariable("contactId") String contactId) {
+        return reactiveContactService.delete(user, contactId)
+                .thenReturn(WebResponse.<String>builder().data("OK").build());
+    }
+
+    @GetMapping(path = "/api/contacts", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<DataBuffer> search(User user,
+            @RequestParam(value = "name", required = false) String name,
+            @RequestParam(value = "email", required = false) String email,
+            @RequestParam(value = "phone", required = false) String phone,
+            @RequestParam(value = "page", required = false, defaultValue = "0") Integer page,
+            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(value = "fields", required = false) String fields) {
+        SearchContactRequest request = SearchContactRequest.builder()
+                .page(page)
+                .size(size)
+                .name(name)
+                .email(email)
+                .phone(phone)
+                .fields(fields)
+                .build();
+
+        return webResponseBodyWriter.writeList(reactiveContactService.search(user, request), fields,
+                rows -> reactiveContactService.paging(user, request, rows));
+    }
+}
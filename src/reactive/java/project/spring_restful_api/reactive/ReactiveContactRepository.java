@@ -0,0 +1,193 @@
+package project.spring_restful_api.reactive;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import project.spring_restful_api.model.ContactResponse;
+import project.spring_restful_api.model.SearchContactRequest;
+import project.spring_restful_api.util.UuidUtil;
+
+@Repository
+public class ReactiveContactRepository {
+
+    private static final Map<String, String> COLUMNS = Map.of(
+            "id", "id",
+            "firstName", "first_name",
+            "lastName", "last_name",
+            "email", "email",
+            "phone", "phone");
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Mono<Long> insert(String username, UUID id, String firstName, String lastName, String email,
+            String phone) {
+        return bind(databaseClient.sql("INSERT INTO contacts (id, username, first_name, last_name, email, phone, version) "
+                + "VALUES (:id, :username, :firstName, :lastName, :email, :phone, 0)")
+                .bind("id", UuidUtil.toBytes(id))
+                .bind("username", username), firstName, lastName, email, phone)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<ContactResponse> findResponse(String username, UUID id, List<String> fields) {
+        return databaseClient.sql("SELECT " + columns(fields) + " FROM contacts "
+                + "WHERE id = :id AND username = :username AND deleted_at IS NULL")
+                .bind("id", UuidUtil.toBytes(id))
+                .bind("username", username)
+                .map(row -> toContactResponse(row, fields))
+                .one();
+    }
+
+    /**
+     * Every field of the row plus its version, as an update left it.
+     */
+    public Mono<ContactResponse> findStored(String username, UUID id) {
+        return databaseClient.sql("SELECT " + columns(ContactResponse.FIELDS) + ", version FROM contacts "
+                + "WHERE id = :id AND username = :username AND deleted_at IS NULL")
+                .bind("id", UuidUtil.toBytes(id))
+                .bind("username", username)
+                .map(row -> {
+                    ContactResponse response = toContactResponse(row, ContactResponse.FIELDS);
+                    response.setVersion(row.get("version", Long.class));
+                    return response;
+                })
+                .one();
+    }
+
+    public Mono<Long> findVersion(String username, UUID id) {
+        return databaseClient.sql("SELECT version FROM contacts "
+                + "WHERE id = :id AND username = :username AND deleted_at IS NULL")
+                .bind("id", UuidUtil.toBytes(id))
+                .bind("username", username)
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    public Mono<Boolean> exists(String username, UUID id) {
+        return findVersion(username, id).hasElement();
+    }
+
+    public Mono<Long> update(String username, UUID id, String firstName, String lastName, String email,
+            String phone, Long version) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("UPDATE contacts SET "
+                + "first_name = COALESCE(:firstName, first_name), last_name = COALESCE(:lastName, last_name), "
+                + "email = COALESCE(:email, email), phone = COALESCE(:phone, phone), version = version + 1 "
+                + "WHERE id = :id AND username = :username AND deleted_at IS NULL "
+                + "AND (:version IS NULL OR version = :version)")
+                .bind("id", UuidUtil.toBytes(id))
+                .bind("username", username);
+        spec = bind(spec, firstName, lastName, email, phone);
+        spec = version != null ? spec.bind("version", version) : spec.bindNull("version", Long.class);
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Mono<Long> delete(String username, UUID id) {
+        return databaseClient.sql("DELETE FROM contacts WHERE id = :id AND username = :username")
+                .bind("id", UuidUtil.toBytes(id))
+                .bind("username", username)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> softDelete(String username, UUID id, long deletedAt) {
+        return databaseClient.sql("UPDATE contacts SET deleted_at = :deletedAt, version = version + 1 "
+                + "WHERE id = :id AND username = :username AND deleted_at IS NULL")
+                .bind("deletedAt", deletedAt)
+                .bind("id", UuidUtil.toBytes(id))
+                .bind("username", username)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Rows are read as the subscriber requests them, so a slow client holds
+     * back the driver instead of filling memory.
+     */
+    public Flux<ContactResponse> search(String username, SearchContactRequest request, List<String> fields) {
+        return bindSearch(databaseClient.sql("SELECT " + columns(fields) + " FROM contacts" + searchWhere(request)
+                + " LIMIT :limit OFFSET :offset"), username, request)
+                .bind("limit", request.getSize())
+                .bind("offset", (long) request.getPage() * request.getSize())
+                .map(row -> toContactResponse(row, fields))
+                .all();
+    }
+
+    public Mono<Long> count(String username, SearchContactRequest request) {
+        return bindSearch(databaseClient.sql("SELECT COUNT(*) AS total FROM contacts" + searchWhere(request)),
+                username, request)
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    private String searchWhere(SearchContactRequest request) {
+        StringBuilder where = new StringBuilder(" WHERE username = :username AND deleted_at IS NULL");
+        if (Objects.nonNull(request.getName())) {
+            where.append(" AND (first_name LIKE :name OR last_name LIKE :name)");
+        }
+        if (Objects.nonNull(request.getEmail())) {
+            where.append(" AND email LIKE :email");
+        }
+        if (Objects.nonNull(request.getPhone())) {
+            where.append(" AND phone LIKE :phone");
+        }
+        return where.toString();
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindSearch(DatabaseClient.GenericExecuteSpec spec, String username,
+            SearchContactRequest request) {
+        spec = spec.bind("username", username);
+        if (Objects.nonNull(request.getName())) {
+            spec = spec.bind("name", "%" + request.getName() + "%");
+        }
+        if (Objects.nonNull(request.getEmail())) {
+            spec = spec.bind("email", "%" + request.getEmail() + "%");
+        }
+        if (Objects.nonNull(request.getPhone())) {
+            spec = spec.bind("phone", "%" + request.getPhone() + "%");
+        }
+        return spec;
+    }
+
+    private DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, String firstName,
+            String lastName, String email, String phone) {
+        spec = bindNullable(spec, "firstName", firstName);
+        spec = bindNullable(spec, "lastName", lastName);
+        spec = bindNullable(spec, "email", email);
+        return bindNullable(spec, "phone", phone);
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name,
+            String value) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, String.class);
+    }
+
+    private String columns(List<String> fields) {
+        return fields.stream().map(COLUMNS::get).collect(Collectors.joining(", "));
+    }
+
+    private ContactResponse toContactResponse(Readable row, List<String> fields) {
+        ContactResponse response = new ContactResponse();
+        for (String field : fields) {
+            switch (field) {
+                case "id" -> response.setId(UuidUtil.fromBytes(row.get("id", byte[].class)).toString());
+                case "firstName" -> response.setFirstName(row.get("first_name", String.class));
+                case "lastName" -> response.setLastName(row.get("last_name", String.class));
+                case "email" -> response.setEmail(row.get("email", String.class));
+                case "phone" -> response.setPhone(row.get("phone", String.class));
+                default -> throw new IllegalArgumentException("Unknown contact field " + field);
+            }
+        }
+        return response;
+    }
+}
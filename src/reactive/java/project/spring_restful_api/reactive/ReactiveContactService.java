@@ -0,0 +1,152 @@
+package project.spring_restful_api.reactive;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import project.spring_restful_api.entity.SyncChange;
+import project.spring_restful_api.entity.User;
+import project.spring_restful_api.model.ContactResponse;
+import project.spring_restful_api.model.CreateContactRequest;
+import project.spring_restful_api.model.PagingResponse;
+import project.spring_restful_api.model.SearchContactRequest;
+import project.spring_restful_api.model.UpdateContactRequest;
+import project.spring_restful_api.service.ValidationService;
+import project.spring_restful_api.util.UuidUtil;
+
+@Service
+public class ReactiveContactService {
+    @Autowired
+    private ReactiveContactRepository reactiveContactRepository;
+
+    @Autowired
+    private ReactiveAddressRepository reactiveAddressRepository;
+
+    @Autowired
+    private ReactiveChangeRepository reactiveChangeRepository;
+
+    @Autowired
+    private ValidationService validationService;
+
+    @Value("${app.contacts.delete-mode:hard}")
+    private String deleteMode;
+
+    private static final String SOFT_DELETE = "soft";
+
+    @Transactional
+    public Mono<ContactResponse> create(User user, CreateContactRequest request) {
+        return Mono.fromRunnable(() -> validationService.validate(request))
+                .then(Mono.defer(() -> {
+                    UUID id = UuidUtil.randomV7();
+                    return reactiveContactRepository.insert(user.getUsername(), id, request.getFirstName(),
+                            request.getLastName(), request.getEmail(), request.getPhone())
+                            .then(reactiveChangeRepository.record(user.getUsername(), SyncChange.CONTACT, id, id, false))
+                            .thenReturn(ContactResponse.builder()
+                                    .id(id.toString())
+                                    .firstName(request.getFirstName())
+                                    .lastName(request.getLastName())
+                                    .email(request.getEmail())
+                                    .phone(request.getPhone())
+                                    .version(0L)
+                                    .build());
+                }));
+    }
+
+    public Mono<ContactResponse> get(User user, String contactId, String fields) {
+        return Mono.defer(() -> {
+            List<String> selectedFields = validationService.validateFields(fields, ContactResponse.FIELDS);
+            return reactiveContactRepository.findResponse(user.getUsername(), parseContactId(contactId), selectedFields);
+        }).switchIfEmpty(Mono.error(contactNotFound()));
+    }
+
+    public Mono<Long> version(User user, String contactId) {
+        return Mono.defer(() -> reactiveContactRepository.findVersion(user.getUsername(), parseContactId(contactId)))
+                .switchIfEmpty(Mono.error(contactNotFound()));
+    }
+
+    @Transactional
+    public Mono<ContactResponse> update(User user, UpdateContactRequest request) {
+        return Mono.defer(() -> {
+            validationService.validate(request);
+            UUID id = parseContactId(request.getId());
+
+            return reactiveContactRepository.update(user.getUsername(), id, request.getFirstName(),
+                    request.getLastName(), request.getEmail(), request.getPhone(), request.getVersion())
+                    .flatMap(updated -> {
+                        if (updated > 0) {
+                            // A PATCH leaves unsent fields as stored, so the
+                            // response is read back inside the transaction.
+                            return reactiveContactRepository.findStored(user.getUsername(), id);
+                        }
+                        if (Objects.isNull(request.getVersion())) {
+                            return Mono.<ContactResponse>error(contactNotFound());
+                        }
+                        return reactiveContactRepository.exists(user.getUsername(), id)
+                                .flatMap(exists -> Mono.<ContactResponse>error(exists
+                                        ? new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Contact was modified")
+                                        : contactNotFound()));
+                    })
+                    .flatMap(stored -> reactiveChangeRepository
+                            .record(user.getUsername(), SyncChange.CONTACT, id, id, false)
+                            .thenReturn(stored));
+        });
+    }
+
+    @Transactional
+    public Mono<Void> delete(User user, String contactId) {
+        return Mono.defer(() -> {
+            UUID id = parseContactId(contactId);
+            Mono<Long> deleted = SOFT_DELETE.equals(deleteMode)
+                    ? reactiveContactRepository.softDelete(user.getUsername(), id, System.currentTimeMillis())
+                    : reactiveAddressRepository.deleteAll(user.getUsername(), id)
+                            .then(reactiveContactRepository.delete(user.getUsername(), id));
+
+            return deleted.flatMap(rows -> rows == 0
+                    ? Mono.<Void>error(contactNotFound())
+                    : reactiveChangeRepository.record(user.getUsername(), SyncChange.CONTACT, id, id, true));
+        });
+    }
+
+    /**
+     * Rows of the requested page as the database produces them. The fields are
+     * validated before anything is read so a bad request fails up front.
+     */
+    public Flux<ContactResponse> search(User user, SearchContactRequest request) {
+        List<String> selectedFields = validationService.validateFields(request.getFields(), ContactResponse.FIELDS);
+        return reactiveContactRepository.search(user.getUsername(), request, selectedFields);
+    }
+
+    /**
+     * Paging for a search page once its rows have been streamed; the count
+     * query only runs when the row count alone cannot tell the total.
+     */
+    public Mono<PagingResponse> paging(User user, SearchContactRequest request, long rows) {
+        long offset = (long) request.getPage() * request.getSize();
+        Mono<Long> total = rows < request.getSize() && (rows > 0 || offset == 0)
+                ? Mono.just(offset + rows)
+                : reactiveContactRepository.count(user.getUsername(), request);
+
+        return total.map(count -> PagingResponse.builder()
+                .currentPage(request.getPage())
+                .totalPage((int) Math.ceil((double) count / request.getSize()))
+                .size(request.getSize())
+                .build());
+    }
+
+    private UUID parseContactId(String contactId) {
+        return UuidUtil.parse(contactId).orElseThrow(this::contactNotFound);
+    }
+
+    private ResponseStatusException contactNotFound() {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found");
+    }
+}
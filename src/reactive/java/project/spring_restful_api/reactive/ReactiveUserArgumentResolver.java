@@ -0,0 +1,38 @@
+package project.spring_restful_api.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolver;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import project.spring_restful_api.entity.User;
+
+@Component
+public class ReactiveUserArgumentResolver implements HandlerMethodArgumentResolver {
+    @Autowired
+    private ReactiveUserRepository reactiveUserRepository;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return User.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Mono<Object> resolveArgument(MethodParameter parameter, BindingContext bindingContext,
+            ServerWebExchange exchange) {
+        String token = exchange.getRequest().getHeaders().getFirst("X-API-TOKEN");
+        if (token == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized"));
+        }
+
+        return reactiveUserRepository.findPrincipalByToken(token)
+                .filter(user -> user.getTokenExpiredAt() >= System.currentTimeMillis())
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized")))
+                .cast(Object.class);
+    }
+}
@@ -0,0 +1,24 @@
+package project.spring_restful_api.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import project.spring_restful_api.entity.User;
+
+@Repository
+public class ReactiveUserRepository {
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Mono<User> findPrincipalByToken(String token) {
+        return databaseClient.sql("SELECT username, name, token_expired_at, version FROM users WHERE token = :token")
+                .bind("token", token)
+                .map(row -> new User(row.get("username", String.class),
+                        row.get("name", String.class),
+                        row.get("token_expired_at", Long.class),
+                        row.get("version", Long.class)))
+                .one();
+    }
+}
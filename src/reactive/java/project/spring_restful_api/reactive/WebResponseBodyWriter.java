@@ -0,0 +1,89 @@
+package project.spring_restful_api.reactive;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import project.spring_restful_api.model.PagingResponse;
+import project.spring_restful_api.model.WebResponse;
+import project.spring_restful_api.serializer.FieldSelection;
+
+/**
+ * Encodes WebResponse bodies with the fields selection applied, as the servlet
+ * FieldFilterAdvice does. Lists are written as a stream of buffers around the
+ * items, pulling at most app.reactive.prefetch rows ahead of the client.
+ */
+@Component
+public class WebResponseBodyWriter {
+
+    private static final byte[] LIST_START = "{\"data\":[".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] LIST_END = "],\"errors\":null,\"paging\":".getBytes(StandardCharsets.UTF_8);
+
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.reactive.prefetch:64}")
+    private int prefetch;
+
+    public <T> Mono<DataBuffer> write(T data, String fields) {
+        ObjectWriter writer = writer(fields);
+        return Mono.fromCallable(() -> bufferFactory.wrap(
+                writer.writeValueAsBytes(WebResponse.<T>builder().data(data).build())));
+    }
+
+    /**
+     * The paging block is resolved from the number of items once they have
+     * all been written; pass null for lists without paging.
+     */
+    public <T> Flux<DataBuffer> writeList(Flux<T> items, String fields, LongFunction<Mono<PagingResponse>> paging) {
+        ObjectWriter writer = writer(fields);
+        AtomicLong count = new AtomicLong();
+
+        Flux<DataBuffer> body = items.limitRate(prefetch).map(item -> {
+            byte[] json = toJson(writer, item);
+            DataBuffer buffer = bufferFactory.allocateBuffer(json.length + 1);
+            if (count.getAndIncrement() > 0) {
+                buffer.write((byte) ',');
+            }
+            return buffer.write(json);
+        });
+        Mono<DataBuffer> end = Mono.defer(() -> paging != null ? paging.apply(count.get()) : Mono.empty())
+                .map(pagingResponse -> toJson(writer, pagingResponse))
+                .defaultIfEmpty("null".getBytes(StandardCharsets.UTF_8))
+                .map(json -> bufferFactory.allocateBuffer(LIST_END.length + json.length + 1)
+                        .write(LIST_END)
+                        .write(json)
+                        .write((byte) '}'));
+
+        return Flux.concat(Mono.fromSupplier(() -> bufferFactory.wrap(LIST_START)), body, end);
+    }
+
+    private ObjectWriter writer(String fields) {
+        FilterProvider filters = FieldSelection.filters(fields);
+        return filters != null ? objectMapper.writer(filters) : objectMapper.writer();
+    }
+
+    private byte[] toJson(ObjectWriter writer, Object value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package project.spring_restful_api;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+/**
+ * Embedded MariaDB instances for tests that need a MySQL compatible server of
+ * their own. Each name starts one server on a free port, kept for the JVM.
+ */
+public final class EmbeddedMariaDb {
+
+    private static final Map<String, String> URLS = new ConcurrentHashMap<>();
+
+    private EmbeddedMariaDb() {
+    }
+
+    public static String start(String name) {
+        return URLS.computeIfAbsent(name, key -> {
+            try {
+                DBConfigurationBuilder configuration = DBConfigurationBuilder.newBuilder();
+                configuration.setPort(0);
+                DB database = DB.newEmbeddedDB(configuration.build());
+                database.start();
+                database.createDB("spring_restful_api");
+                return configuration.getURL("spring_restful_api");
+            } catch (Exception exception) {
+                throw new IllegalStateException("Cannot start embedded MariaDB " + key, exception);
+            }
+        });
+    }
+}
@@ -0,0 +1,104 @@
+package project.spring_restful_api;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import project.spring_restful_api.security.BCrypt;
+import project.spring_restful_api.util.UuidUtil;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives GET /api/contacts over real connections from -Dbenchmark.connections
+ * concurrent clients (default 10000) for -Dbenchmark.duration seconds and logs
+ * throughput and p99. Subclasses choose the server stack: platform or virtual
+ * request threads, or the WebFlux variant built with -Preactive. The client
+ * side needs a file descriptor limit above the connection count.
+ */
+@Slf4j
+abstract class LoadBenchmark {
+
+        private static final int CONNECTIONS = Integer.getInteger("benchmark.connections", 10_000);
+
+        private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.duration", 30));
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        protected abstract String mode();
+
+        @BeforeEach
+        void setUp() {
+                // plain JDBC so the same seeding works for the servlet and reactive stacks
+                jdbcTemplate.update("DELETE FROM addresses");
+                jdbcTemplate.update("DELETE FROM contacts");
+                jdbcTemplate.update("DELETE FROM users");
+
+                jdbcTemplate.update("INSERT INTO users (username, password, name, token, token_expired_at) "
+                                + "VALUES (?, ?, ?, ?, ?)", "helmy_fadlail", BCrypt.hashpw("rahasia", BCrypt.gensalt()),
+                                "Helmy Fadlail", "test_token", System.currentTimeMillis() + 1000000000);
+                for (int i = 0; i < 100; i++) {
+                        jdbcTemplate.update("INSERT INTO contacts (id, username, first_name, last_name) VALUES (?, ?, ?, ?)",
+                                        UuidUtil.toBytes(UuidUtil.randomV7()), "helmy_fadlail", "Helmy " + i, "Fadlail");
+                }
+        }
+
+        @Test
+        void throughputAndP99() throws Exception {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/contacts?name=Helmy"))
+                                .header("Accept", "application/json")
+                                .header("X-API-TOKEN", "test_token")
+                                .build();
+                Timer latency = Timer.builder("benchmark.request")
+                                .publishPercentiles(0.99)
+                                .register(new SimpleMeterRegistry());
+                LongAdder failures = new LongAdder();
+                long deadline = System.nanoTime() + DURATION.toNanos();
+
+                try (HttpClient client = HttpClient.newHttpClient();
+                                ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                        for (int i = 0; i < CONNECTIONS; i++) {
+                                clients.submit(() -> {
+                                        while (System.nanoTime() < deadline) {
+                                                long start = System.nanoTime();
+                                                try {
+                                                        if (client.send(request, HttpResponse.BodyHandlers.discarding())
+                                                                        .statusCode() != 200) {
+                                                                failures.increment();
+                                                        }
+                                                } catch (IOException e) {
+                                                        failures.increment();
+                                                }
+                                                latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                                        }
+                                        return null;
+                                });
+                        }
+                }
+
+                double p99 = latency.takeSnapshot().percentileValues()[0].value(TimeUnit.MILLISECONDS);
+                log.info("{}: {} connections, {} requests/s, p99 {} ms, {} failed", mode(), CONNECTIONS,
+                                Math.round(latency.count() / (double) DURATION.toSeconds()), Math.round(p99),
+                                failures.sum());
+                assertTrue(latency.count() > 0);
+        }
+}
@@ -0,0 +1,32 @@
+package project.spring_restful_api;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.web.method.HandlerMethod;
+import project.spring_restful_api.datasource.StatementBudget;
+import project.spring_restful_api.datasource.StatementBudgetInterceptor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fails a MockMvc request that ran more SQL statements than the
+ * {@link StatementBudget} of its controller method.
+ */
+public final class StatementBudgetMatchers {
+
+    private StatementBudgetMatchers() {
+    }
+
+    public static ResultMatcher withinStatementBudget() {
+        return result -> {
+            HandlerMethod handler = (HandlerMethod) result.getHandler();
+            assertNotNull(handler);
+            StatementBudget budget = handler.getMethodAnnotation(StatementBudget.class);
+            assertNotNull(budget, handler + " has no @StatementBudget");
+
+            Integer count = (Integer) result.getRequest().getAttribute(StatementBudgetInterceptor.COUNT_ATTRIBUTE);
+            assertNotNull(count);
+            assertTrue(count <= budget.value(),
+                    handler + " ran " + count + " SQL statements, budget is " + budget.value());
+        };
+    }
+}
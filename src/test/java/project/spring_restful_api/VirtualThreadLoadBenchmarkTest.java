@@ -0,0 +1,21 @@
+package project.spring_restful_api;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+                "spring.threads.virtual.enabled=true",
+                "server.tomcat.max-connections=20000",
+                "server.tomcat.accept-count=20000",
+                "app.bulkhead.limits.contact-search=100000",
+                "app.rate-limit.limits.contact-search.requests=0",
+                "app.concurrency-limit.enabled=false",
+                "app.fair-queue.permits=100000" })
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadLoadBenchmarkTest extends LoadBenchmark {
+
+        @Override
+        protected String mode() {
+                return "virtual threads";
+        }
+}
@@ -0,0 +1,98 @@
+package project.spring_restful_api.bulkhead;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import project.spring_restful_api.entity.User;
+import project.spring_restful_api.model.WebResponse;
+import project.spring_restful_api.repository.AddressRepository;
+import project.spring_restful_api.repository.ContactRepository;
+import project.spring_restful_api.repository.UserRepository;
+import project.spring_restful_api.security.BCrypt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "app.bulkhead.limits.contact-search=0")
+@AutoConfigureMockMvc
+class BulkheadTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private ContactRepository contactRepository;
+
+        @Autowired
+        private AddressRepository addressRepository;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @BeforeEach
+        void setUp() {
+                addressRepository.deleteAll();
+                contactRepository.deleteAll();
+                userRepository.deleteAll();
+
+                User user = new User();
+                user.setUsername("helmy_fadlail");
+                user.setPassword(BCrypt.hashpw("rahasia", BCrypt.gensalt()));
+                user.setName("Helmy Fadlail");
+                user.setToken("test_token");
+                user.setTokenExpiredAt(System.currentTimeMillis() + 1000000000);
+                userRepository.save(user);
+        }
+
+        @Test
+        void searchRejectedWhenBulkheadFull() throws Exception {
+                mockMvc.perform(
+                                get("/api/contacts")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isServiceUnavailable())
+                                .andDo(result -> {
+                                        WebResponse<String> response = objectMapper.readValue(
+                                                        result.getResponse().getContentAsString(),
+                                                        new TypeReference<WebResponse<String>>() {
+                                                        });
+                                        assertNotNull(response.getErrors());
+                                });
+
+                assertEquals(1.0, meterRegistry.get("app.bulkhead.rejected")
+                                .tag("bulkhead", "contact-search").counter().count(), 0.0);
+        }
+
+        @Test
+        void connectionMetricsTaggedByEndpoint() throws Exception {
+                mockMvc.perform(
+                                get("/api/users/current")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk());
+
+                Timer acquire = meterRegistry.get("app.datasource.connections.acquire")
+                                .tag("endpoint", "UserController.get").timer();
+                Timer hold = meterRegistry.get("app.datasource.connections.hold")
+                                .tag("endpoint", "UserController.get").timer();
+                assertTrue(acquire.count() > 0);
+                assertTrue(hold.count() > 0);
+        }
+}
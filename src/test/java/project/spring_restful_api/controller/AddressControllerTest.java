@@ -22,8 +22,10 @@ import project.spring_restful_api.repository.UserRepository;
 import project.spring_restful_api.security.BCrypt;
 
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static project.spring_restful_api.StatementBudgetMatchers.withinStatementBudget;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -31,6 +33,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 class AddressControllerTest {
 
+        private static final String CONTACT_ID = "01923f6a-5a4c-7c3e-9b1d-3f2a6e8c0001";
+
+        private static final String ADDRESS_ID = "01923f6a-5a4c-7c3e-9b1d-3f2a6e8c0002";
+
         @Autowired
         private UserRepository userRepository;
 
@@ -61,7 +67,7 @@ class AddressControllerTest {
                 userRepository.save(user);
 
                 Contact contact = new Contact();
-                contact.setId("test_contact");
+                contact.setId(UUID.fromString(CONTACT_ID));
                 contact.setUser(user);
                 contact.setFirstName("Helmy");
                 contact.setLastName("Fadlail");
@@ -102,13 +108,14 @@ class AddressControllerTest {
                 request.setPostalCode("64473");
 
                 mockMvc.perform(
-                                post("/api/contacts/test_contact/addresses")
+                                post("/api/contacts/" + CONTACT_ID + "/addresses")
                                                 .accept(MediaType.APPLICATION_JSON)
                                                 .contentType(MediaType.APPLICATION_JSON)
                                                 .content(objectMapper.writeValueAsString(request))
                                                 .header("X-API-TOKEN", "test_token"))
                                 .andExpectAll(
-                                                status().isOk())
+                                                status().isOk(),
+                                                withinStatementBudget())
                                 .andDo(result -> {
                                         WebResponse<AddressResponse> response = objectMapper
                                                         .readValue(result.getResponse().getContentAsString(),
@@ -121,7 +128,7 @@ class AddressControllerTest {
                                         assertEquals(request.getCountry(), response.getData().getCountry());
                                         assertEquals(request.getPostalCode(), response.getData().getPostalCode());
 
-                                        assertTrue(addressRepository.existsById(response.getData().getId()));
+                                        assertTrue(addressRepository.existsById(UUID.fromString(response.getData().getId())));
                                 });
         }
 
@@ -143,12 +150,30 @@ class AddressControllerTest {
                                 });
         }
 
+        @Test
+        void getAddressNotFoundOnExistingContact() throws Exception {
+                mockMvc.perform(
+                                get("/api/contacts/" + CONTACT_ID + "/addresses/test-123")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isNotFound())
+                                .andDo(result -> {
+                                        WebResponse<String> response = objectMapper.readValue(
+                                                        result.getResponse().getContentAsString(),
+                                                        new TypeReference<>() {
+                                                        });
+                                        assertEquals("Address not found", response.getErrors());
+                                });
+        }
+
         @Test
         void getAddressSuccess() throws Exception {
-                Contact contact = contactRepository.findById("test_contact").orElseThrow();
+                Contact contact = contactRepository.findById(UUID.fromString(CONTACT_ID)).orElseThrow();
 
                 Address address = new Address();
-                address.setId("test_address");
+                address.setId(UUID.fromString(ADDRESS_ID));
                 address.setContact(contact);
                 address.setStreet("Jln. Raya Sawahan");
                 address.setCity("Nganjuk");
@@ -158,19 +183,20 @@ class AddressControllerTest {
                 addressRepository.save(address);
 
                 mockMvc.perform(
-                                get("/api/contacts/test_contact/addresses/test_address")
+                                get("/api/contacts/" + CONTACT_ID + "/addresses/" + ADDRESS_ID)
                                                 .accept(MediaType.APPLICATION_JSON)
                                                 .contentType(MediaType.APPLICATION_JSON)
                                                 .header("X-API-TOKEN", "test_token"))
                                 .andExpectAll(
-                                                status().isOk())
+                                                status().isOk(),
+                                                withinStatementBudget())
                                 .andDo(result -> {
                                         WebResponse<AddressResponse> response = objectMapper
                                                         .readValue(result.getResponse().getContentAsString(),
                                                                         new TypeReference<>() {
                                                                         });
                                         assertNull(response.getErrors());
-                                        assertEquals(address.getId(), response.getData().getId());
+                                        assertEquals(ADDRESS_ID, response.getData().getId());
                                         assertEquals(address.getStreet(), response.getData().getStreet());
                                         assertEquals(address.getCity(), response.getData().getCity());
                                         assertEquals(address.getProvince(), response.getData().getProvince());
@@ -203,10 +229,10 @@ class AddressControllerTest {
 
         @Test
         void updateAddressSuccess() throws Exception {
-                Contact contact = contactRepository.findById("test_contact").orElseThrow();
+                Contact contact = contactRepository.findById(UUID.fromString(CONTACT_ID)).orElseThrow();
 
                 Address address = new Address();
-                address.setId("test_address");
+                address.setId(UUID.fromString(ADDRESS_ID));
                 address.setContact(contact);
                 address.setStreet("Jln. Raya Sawahan");
                 address.setCity("Nganjuk");
@@ -223,13 +249,14 @@ class AddressControllerTest {
                 request.setPostalCode("64473");
 
                 mockMvc.perform(
-                                patch("/api/contacts/test_contact/addresses/test_address")
+                                patch("/api/contacts/" + CONTACT_ID + "/addresses/" + ADDRESS_ID)
                                                 .accept(MediaType.APPLICATION_JSON)
                                                 .contentType(MediaType.APPLICATION_JSON)
                                                 .content(objectMapper.writeValueAsString(request))
                                                 .header("X-API-TOKEN", "test_token"))
                                 .andExpectAll(
-                                                status().isOk())
+                                                status().isOk(),
+                                                withinStatementBudget())
                                 .andDo(result -> {
                                         WebResponse<AddressResponse> response = objectMapper
                                                         .readValue(result.getResponse().getContentAsString(),
@@ -242,7 +269,7 @@ class AddressControllerTest {
                                         assertEquals(request.getCountry(), response.getData().getCountry());
                                         assertEquals(request.getPostalCode(), response.getData().getPostalCode());
 
-                                        assertTrue(addressRepository.existsById(response.getData().getId()));
+                                        assertTrue(addressRepository.existsById(UUID.fromString(response.getData().getId())));
                                 });
         }
 
@@ -264,12 +291,30 @@ class AddressControllerTest {
                                 });
         }
 
+        @Test
+        void deleteAddressNotFoundOnExistingContact() throws Exception {
+                mockMvc.perform(
+                                delete("/api/contacts/" + CONTACT_ID + "/addresses/test-123")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isNotFound())
+                                .andDo(result -> {
+                                        WebResponse<String> response = objectMapper.readValue(
+                                                        result.getResponse().getContentAsString(),
+                                                        new TypeReference<>() {
+                                                        });
+                                        assertEquals("Address not found", response.getErrors());
+                                });
+        }
+
         @Test
         void deleteAddressSuccess() throws Exception {
-                Contact contact = contactRepository.findById("test_contact").orElseThrow();
+                Contact contact = contactRepository.findById(UUID.fromString(CONTACT_ID)).orElseThrow();
 
                 Address address = new Address();
-                address.setId("test_address");
+                address.setId(UUID.fromString(ADDRESS_ID));
                 address.setContact(contact);
                 address.setStreet("Jln. Raya Sawahan");
                 address.setCity("Nganjuk");
@@ -279,12 +324,13 @@ class AddressControllerTest {
                 addressRepository.save(address);
 
                 mockMvc.perform(
-                                delete("/api/contacts/test_contact/addresses/test_address")
+                                delete("/api/contacts/" + CONTACT_ID + "/addresses/" + ADDRESS_ID)
                                                 .accept(MediaType.APPLICATION_JSON)
                                                 .contentType(MediaType.APPLICATION_JSON)
                                                 .header("X-API-TOKEN", "test_token"))
                                 .andExpectAll(
-                                                status().isOk())
+                                                status().isOk(),
+                                                withinStatementBudget())
                                 .andDo(result -> {
                                         WebResponse<String> response = objectMapper.readValue(
                                                         result.getResponse().getContentAsString(),
@@ -293,7 +339,7 @@ class AddressControllerTest {
                                         assertNull(response.getErrors());
                                         assertEquals("OK", response.getData());
 
-                                        assertFalse(addressRepository.existsById("test_address"));
+                                        assertFalse(addressRepository.existsById(UUID.fromString(ADDRESS_ID)));
                                 });
         }
 
@@ -317,11 +363,11 @@ class AddressControllerTest {
 
         @Test
         void listAddressSuccess() throws Exception {
-                Contact contact = contactRepository.findById("test_contact").orElseThrow();
+                Contact contact = contactRepository.findById(UUID.fromString(CONTACT_ID)).orElseThrow();
 
                 for (int i = 0; i < 10; i++) {
                         Address address = new Address();
-                        address.setId("test_address_" + i);
+                        address.setId(UUID.randomUUID());
                         address.setContact(contact);
                         address.setStreet("Jln. Raya Sawahan");
                         address.setCity("Nganjuk");
@@ -332,12 +378,13 @@ class AddressControllerTest {
                 }
 
                 mockMvc.perform(
-                                get("/api/contacts/test_contact/addresses")
+                                get("/api/contacts/" + CONTACT_ID + "/addresses")
                                                 .accept(MediaType.APPLICATION_JSON)
                                                 .contentType(MediaType.APPLICATION_JSON)
                                                 .header("X-API-TOKEN", "test_token"))
                                 .andExpectAll(
-                                                status().isOk())
+                                                status().isOk(),
+                                                withinStatementBudget())
                                 .andDo(result -> {
                                         WebResponse<List<AddressResponse>> response = objectMapper
                                                         .readValue(result.getResponse().getContentAsString(),
@@ -2,27 +2,37 @@ package project.spring_restful_api.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import project.spring_restful_api.entity.Address;
 import project.spring_restful_api.entity.Contact;
 import project.spring_restful_api.entity.User;
+import project.spring_restful_api.model.AddressResponse;
+import project.spring_restful_api.model.ChangeFeedResponse;
+import project.spring_restful_api.model.ChangeResponse;
 import project.spring_restful_api.model.ContactResponse;
+import project.spring_restful_api.model.CreateAddressRequest;
 import project.spring_restful_api.model.CreateContactRequest;
 import project.spring_restful_api.model.UpdateContactRequest;
 import project.spring_restful_api.model.WebResponse;
+import project.spring_restful_api.repository.AddressRepository;
 import project.spring_restful_api.repository.ContactRepository;
 import project.spring_restful_api.repository.UserRepository;
 import project.spring_restful_api.security.BCrypt;
+import project.spring_restful_api.util.UuidUtil;
 
 import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static project.spring_restful_api.StatementBudgetMatchers.withinStatementBudget;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -39,11 +49,18 @@ class ContactControllerTest {
         @Autowired
         private ContactRepository contactRepository;
 
+        @Autowired
+        private AddressRepository addressRepository;
+
         @Autowired
         private ObjectMapper objectMapper;
 
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
         @BeforeEach
         void setUp() {
+                addressRepository.deleteAll();
                 contactRepository.deleteAll();
                 userRepository.deleteAll();
 
@@ -94,7 +111,8 @@ class ContactControllerTest {
                                                 .content(objectMapper.writeValueAsString(request))
                                                 .header("X-API-TOKEN", "test_token"))
                                 .andExpectAll(
-                                                status().isOk())
+                                                status().isOk(),
+                                                withinStatementBudget())
                                 .andDo(result -> {
                                         WebResponse<ContactResponse> response = objectMapper
                                                         .readValue(result.getResponse().getContentAsString(),
@@ -106,7 +124,7 @@ class ContactControllerTest {
                                         assertEquals("helmyfadlail.5@gmail.com", response.getData().getEmail());
                                         assertEquals("081334105663", response.getData().getPhone());
 
-                                        assertTrue(contactRepository.existsById(response.getData().getId()));
+                                        assertTrue(contactRepository.existsById(UUID.fromString(response.getData().getId())));
                                 });
         }
 
@@ -133,7 +151,7 @@ class ContactControllerTest {
                 User user = userRepository.findById("helmy_fadlail").orElseThrow();
 
                 Contact contact = new Contact();
-                contact.setId(UUID.randomUUID().toString());
+                contact.setId(UUID.randomUUID());
                 contact.setUser(user);
                 contact.setFirstName("Helmy");
                 contact.setLastName("Fadlail");
@@ -147,7 +165,8 @@ class ContactControllerTest {
                                                 .contentType(MediaType.APPLICATION_JSON)
                                                 .header("X-API-TOKEN", "test_token"))
                                 .andExpectAll(
-                                                status().isOk())
+                                                status().isOk(),
+                                                withinStatementBudget())
                                 .andDo(result -> {
                                         WebResponse<ContactResponse> response = objectMapper
                                                         .readValue(result.getResponse().getContentAsString(),
@@ -155,7 +174,7 @@ class ContactControllerTest {
                                                                         });
                                         assertNull(response.getErrors());
 
-                                        assertEquals(contact.getId(), response.getData().getId());
+                                        assertEquals(contact.getId().toString(), response.getData().getId());
                                         assertEquals(contact.getFirstName(), response.getData().getFirstName());
                                         assertEquals(contact.getLastName(), response.getData().getLastName());
                                         assertEquals(contact.getEmail(), response.getData().getEmail());
@@ -163,6 +182,98 @@ class ContactControllerTest {
                                 });
         }
 
+        @Test
+        void getContactCbor() throws Exception {
+                User user = userRepository.findById("helmy_fadlail").orElseThrow();
+
+                Contact contact = new Contact();
+                contact.setId(UUID.randomUUID());
+                contact.setUser(user);
+                contact.setFirstName("Helmy");
+                contact.setLastName("Fadlail");
+                contact.setEmail("helmyfadlail.5@gmail.com");
+                contact.setPhone("081334105663");
+                contactRepository.save(contact);
+
+                mockMvc.perform(
+                                get("/api/contacts/" + contact.getId())
+                                                .accept(MediaType.APPLICATION_CBOR)
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk(),
+                                                content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR),
+                                                header().string("ETag", "\"0-cbor\""),
+                                                header().string("Vary", "Accept"),
+                                                withinStatementBudget())
+                                .andDo(result -> {
+                                        WebResponse<ContactResponse> response = new CBORMapper()
+                                                        .readValue(result.getResponse().getContentAsByteArray(),
+                                                                        new TypeReference<>() {
+                                                                        });
+                                        assertNull(response.getErrors());
+
+                                        assertEquals(contact.getId().toString(), response.getData().getId());
+                                        assertEquals(contact.getFirstName(), response.getData().getFirstName());
+                                        assertEquals(contact.getEmail(), response.getData().getEmail());
+                                });
+        }
+
+        @Test
+        void getContactSparseFields() throws Exception {
+                User user = userRepository.findById("helmy_fadlail").orElseThrow();
+
+                Contact contact = new Contact();
+                contact.setId(UUID.randomUUID());
+                contact.setUser(user);
+                contact.setFirstName("Helmy");
+                contact.setLastName("Fadlail");
+                contact.setEmail("helmyfadlail.5@gmail.com");
+                contact.setPhone("081334105663");
+                contactRepository.save(contact);
+
+                mockMvc.perform(
+                                get("/api/contacts/" + contact.getId())
+                                                .queryParam("fields", "id,firstName")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk(),
+                                                withinStatementBudget())
+                                .andDo(result -> {
+                                        String content = result.getResponse().getContentAsString();
+                                        WebResponse<ContactResponse> response = objectMapper.readValue(content,
+                                                        new TypeReference<>() {
+                                                        });
+                                        assertNull(response.getErrors());
+
+                                        assertEquals(contact.getId().toString(), response.getData().getId());
+                                        assertEquals(contact.getFirstName(), response.getData().getFirstName());
+                                        assertFalse(content.contains("lastName"));
+                                        assertFalse(content.contains("email"));
+                                        assertFalse(content.contains("phone"));
+                                });
+        }
+
+        @Test
+        void getContactUnknownField() throws Exception {
+                mockMvc.perform(
+                                get("/api/contacts/5000")
+                                                .queryParam("fields", "id,password")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isBadRequest())
+                                .andDo(result -> {
+                                        WebResponse<String> response = objectMapper.readValue(
+                                                        result.getResponse().getContentAsString(),
+                                                        new TypeReference<WebResponse<String>>() {
+                                                        });
+                                        assertNotNull(response.getErrors());
+                                });
+        }
+
         @Test
         void updateContactBadRequest() throws Exception {
                 UpdateContactRequest request = new UpdateContactRequest();
@@ -191,7 +302,7 @@ class ContactControllerTest {
                 User user = userRepository.findById("helmy_fadlail").orElseThrow();
 
                 Contact contact = new Contact();
-                contact.setId(UUID.randomUUID().toString());
+                contact.setId(UUID.randomUUID());
                 contact.setUser(user);
                 contact.setFirstName("Helmy");
                 contact.setLastName("Fadlail");
@@ -212,7 +323,8 @@ class ContactControllerTest {
                                                 .content(objectMapper.writeValueAsString(request))
                                                 .header("X-API-TOKEN", "test_token"))
                                 .andExpectAll(
-                                                status().isOk())
+                                                status().isOk(),
+                                                withinStatementBudget())
                                 .andDo(result -> {
                                         WebResponse<ContactResponse> response = objectMapper.readValue(
                                                         result.getResponse().getContentAsString(),
@@ -224,7 +336,213 @@ class ContactControllerTest {
                                         assertEquals(request.getEmail(), response.getData().getEmail());
                                         assertEquals(request.getPhone(), response.getData().getPhone());
 
-                                        assertTrue(contactRepository.existsById(response.getData().getId()));
+                                        assertTrue(contactRepository.existsById(UUID.fromString(response.getData().getId())));
+                                });
+        }
+
+        @Test
+        void updateContactStaleVersion() throws Exception {
+                User user = userRepository.findById("helmy_fadlail").orElseThrow();
+
+                Contact contact = new Contact();
+                contact.setId(UUID.randomUUID());
+                contact.setUser(user);
+                contact.setFirstName("Helmy");
+                contact.setLastName("Fadlail");
+                contact.setEmail("helmyfadlail.5@gmail.com");
+                contact.setPhone("081334105663");
+                contactRepository.save(contact);
+
+                UpdateContactRequest request = new UpdateContactRequest();
+                request.setPhone("081334101234");
+
+                mockMvc.perform(
+                                patch("/api/contacts/" + contact.getId())
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(request))
+                                                .header("If-Match", "\"5\"")
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isPreconditionFailed())
+                                .andDo(result -> {
+                                        WebResponse<String> response = objectMapper.readValue(
+                                                        result.getResponse().getContentAsString(),
+                                                        new TypeReference<WebResponse<String>>() {
+                                                        });
+                                        assertNotNull(response.getErrors());
+                                });
+
+                mockMvc.perform(
+                                patch("/api/contacts/" + contact.getId())
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(request))
+                                                .header("If-Match", "\"0\"")
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk(),
+                                                withinStatementBudget(),
+                                                header().string("ETag", "\"1\""))
+                                .andDo(result -> {
+                                        WebResponse<ContactResponse> response = objectMapper.readValue(
+                                                        result.getResponse().getContentAsString(),
+                                                        new TypeReference<WebResponse<ContactResponse>>() {
+                                                        });
+                                        assertNull(response.getErrors());
+                                        assertEquals("Helmy", response.getData().getFirstName());
+                                        assertEquals("Fadlail", response.getData().getLastName());
+                                        assertEquals("helmyfadlail.5@gmail.com", response.getData().getEmail());
+                                        assertEquals("081334101234", response.getData().getPhone());
+                                        assertEquals(1L, response.getData().getVersion());
+                                });
+
+                request.setPhone(null);
+                request.setEmail("helmy@example.com");
+
+                mockMvc.perform(
+                                patch("/api/contacts/" + contact.getId())
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(request))
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk(),
+                                                header().string("ETag", "\"2\""))
+                                .andDo(result -> {
+                                        WebResponse<ContactResponse> response = objectMapper.readValue(
+                                                        result.getResponse().getContentAsString(),
+                                                        new TypeReference<WebResponse<ContactResponse>>() {
+                                                        });
+                                        assertEquals("Helmy", response.getData().getFirstName());
+                                        assertEquals("Fadlail", response.getData().getLastName());
+                                        assertEquals("helmy@example.com", response.getData().getEmail());
+                                        assertEquals("081334101234", response.getData().getPhone());
+                                        assertEquals(2L, response.getData().getVersion());
+                                });
+
+                // If-Match compares strongly: a weak tag never matches
+                mockMvc.perform(
+                                patch("/api/contacts/" + contact.getId())
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(request))
+                                                .header("If-Match", "W/\"2\"")
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isPreconditionFailed());
+
+                // the tag of a sparse GET names the same version
+                mockMvc.perform(
+                                patch("/api/contacts/" + contact.getId())
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(request))
+                                                .header("If-Match", "\"2-1a2b\"")
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk(),
+                                                header().string("ETag", "\"3\""));
+
+                Contact updated = contactRepository.findById(contact.getId()).orElseThrow();
+                assertEquals("Helmy", updated.getFirstName());
+                assertEquals("081334101234", updated.getPhone());
+        }
+
+        @Test
+        void getContactNotModified() throws Exception {
+                User user = userRepository.findById("helmy_fadlail").orElseThrow();
+
+                Contact contact = new Contact();
+                contact.setId(UUID.randomUUID());
+                contact.setUser(user);
+                contact.setFirstName("Helmy");
+                contact.setLastName("Fadlail");
+                contact.setEmail("helmyfadlail.5@gmail.com");
+                contact.setPhone("081334105663");
+                contactRepository.save(contact);
+
+                mockMvc.perform(
+                                get("/api/contacts/" + contact.getId())
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("If-None-Match", "\"0\"")
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isNotModified(),
+                                                header().string("ETag", "\"0\""),
+                                                content().string(""));
+
+                // a cached JSON body does not revalidate a CBOR request
+                mockMvc.perform(
+                                get("/api/contacts/" + contact.getId())
+                                                .accept(MediaType.APPLICATION_CBOR)
+                                                .header("If-None-Match", "\"0\"")
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk(),
+                                                header().string("ETag", "\"0-cbor\""));
+
+                mockMvc.perform(
+                                get("/api/contacts/" + contact.getId())
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("If-None-Match", "\"7\"")
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk(),
+                                                withinStatementBudget(),
+                                                header().string("ETag", "\"0\""));
+        }
+
+        @Test
+        void getContactAfterUpdate() throws Exception {
+                User user = userRepository.findById("helmy_fadlail").orElseThrow();
+
+                Contact contact = new Contact();
+                contact.setId(UUID.randomUUID());
+                contact.setUser(user);
+                contact.setFirstName("Helmy");
+                contact.setLastName("Fadlail");
+                contact.setEmail("helmyfadlail.5@gmail.com");
+                contact.setPhone("081334105663");
+                contactRepository.save(contact);
+
+                mockMvc.perform(
+                                get("/api/contacts/" + contact.getId())
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk(),
+                                                withinStatementBudget());
+
+                UpdateContactRequest request = new UpdateContactRequest();
+                request.setFirstName("Helmyyy");
+                request.setLastName("Fadlaillll");
+
+                mockMvc.perform(
+                                patch("/api/contacts/" + contact.getId())
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(request))
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk(),
+                                                withinStatementBudget());
+
+                mockMvc.perform(
+                                get("/api/contacts/" + contact.getId())
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk(),
+                                                withinStatementBudget())
+                                .andDo(result -> {
+                                        WebResponse<ContactResponse> response = objectMapper.readValue(
+                                                        result.getResponse().getContentAsString(),
+                                                        new TypeReference<>() {
+                                                        });
+                                        assertNull(response.getErrors());
+                                        assertEquals("Helmyyy", response.getData().getFirstName());
+                                        assertEquals("Fadlaillll", response.getData().getLastName());
                                 });
         }
 
@@ -251,7 +569,7 @@ class ContactControllerTest {
                 User user = userRepository.findById("helmy_fadlail").orElseThrow();
 
                 Contact contact = new Contact();
-                contact.setId(UUID.randomUUID().toString());
+                contact.setId(UUID.randomUUID());
                 contact.setUser(user);
                 contact.setFirstName("Helmy");
                 contact.setLastName("Fadlail");
@@ -265,7 +583,8 @@ class ContactControllerTest {
                                                 .contentType(MediaType.APPLICATION_JSON)
                                                 .header("X-API-TOKEN", "test_token"))
                                 .andExpectAll(
-                                                status().isOk())
+                                                status().isOk(),
+                                                withinStatementBudget())
                                 .andDo(result -> {
                                         WebResponse<String> response = objectMapper.readValue(
                                                         result.getResponse().getContentAsString(),
@@ -276,6 +595,162 @@ class ContactControllerTest {
                                 });
         }
 
+        @Test
+        void deleteContactWithAddressesSuccess() throws Exception {
+                User user = userRepository.findById("helmy_fadlail").orElseThrow();
+
+                Contact contact = new Contact();
+                contact.setId(UUID.randomUUID());
+                contact.setUser(user);
+                contact.setFirstName("Helmy");
+                contact.setLastName("Fadlail");
+                contact.setEmail("helmyfadlail.5@gmail.com");
+                contact.setPhone("081334105663");
+                contactRepository.save(contact);
+
+                for (int i = 0; i < 3; i++) {
+                        Address address = new Address();
+                        address.setId(UUID.randomUUID());
+                        address.setContact(contact);
+                        address.setStreet("Jl. Raya Sawahan " + i);
+                        address.setCountry("Indonesia");
+                        addressRepository.save(address);
+                }
+
+                mockMvc.perform(
+                                delete("/api/contacts/" + contact.getId())
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk(),
+                                                withinStatementBudget());
+
+                assertFalse(contactRepository.existsById(contact.getId()));
+                assertEquals(0, addressRepository.count());
+        }
+
+        @Test
+        void changesSinceCursor() throws Exception {
+                CreateContactRequest request = new CreateContactRequest();
+                request.setFirstName("Helmy");
+                request.setEmail("helmyfadlail.5@gmail.com");
+
+                String body = mockMvc.perform(
+                                post("/api/contacts")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(request))
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk(),
+                                                withinStatementBudget())
+                                .andReturn().getResponse().getContentAsString();
+                String contactId = objectMapper.readValue(body, new TypeReference<WebResponse<ContactResponse>>() {
+                }).getData().getId();
+
+                Long[] cursor = new Long[1];
+                mockMvc.perform(
+                                get("/api/contacts/changes")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk(),
+                                                withinStatementBudget())
+                                .andDo(result -> {
+                                        WebResponse<ChangeFeedResponse> response = objectMapper.readValue(
+                                                        result.getResponse().getContentAsString(),
+                                                        new TypeReference<>() {
+                                                        });
+                                        ChangeResponse change = response.getData().getChanges().stream()
+                                                        .filter(item -> item.getId().equals(contactId))
+                                                        .findFirst().orElseThrow();
+                                        assertFalse(change.getDeleted());
+                                        assertEquals("Helmy", change.getContact().getFirstName());
+                                        cursor[0] = response.getData().getCursor();
+                                });
+
+                mockMvc.perform(
+                                delete("/api/contacts/" + contactId)
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk());
+
+                mockMvc.perform(
+                                get("/api/contacts/changes")
+                                                .queryParam("since", cursor[0].toString())
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk(),
+                                                withinStatementBudget())
+                                .andDo(result -> {
+                                        WebResponse<ChangeFeedResponse> response = objectMapper.readValue(
+                                                        result.getResponse().getContentAsString(),
+                                                        new TypeReference<>() {
+                                                        });
+                                        assertEquals(1, response.getData().getChanges().size());
+                                        ChangeResponse change = response.getData().getChanges().getFirst();
+                                        assertEquals(contactId, change.getId());
+                                        assertTrue(change.getDeleted());
+                                        assertTrue(response.getData().getCursor() > cursor[0]);
+                                });
+        }
+
+        @Test
+        void changesTombstoneAddressesOfSoftDeletedContact() throws Exception {
+                User user = userRepository.findById("helmy_fadlail").orElseThrow();
+
+                Contact contact = new Contact();
+                contact.setId(UUID.randomUUID());
+                contact.setUser(user);
+                contact.setFirstName("Helmy");
+                contactRepository.save(contact);
+
+                CreateAddressRequest request = new CreateAddressRequest();
+                request.setCountry("Indonesia");
+
+                String body = mockMvc.perform(
+                                post("/api/contacts/" + contact.getId() + "/addresses")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(request))
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk())
+                                .andReturn().getResponse().getContentAsString();
+                String addressId = objectMapper.readValue(body, new TypeReference<WebResponse<AddressResponse>>() {
+                }).getData().getId();
+
+                // soft deleted, its addresses not purged yet
+                jdbcTemplate.update("UPDATE contacts SET deleted_at = ? WHERE id = ?", System.currentTimeMillis(),
+                                UuidUtil.toBytes(contact.getId()));
+                try {
+                        mockMvc.perform(
+                                        get("/api/contacts/changes")
+                                                        .accept(MediaType.APPLICATION_JSON)
+                                                        .header("X-API-TOKEN", "test_token"))
+                                        .andExpectAll(
+                                                        status().isOk(),
+                                                        withinStatementBudget())
+                                        .andDo(result -> {
+                                                WebResponse<ChangeFeedResponse> response = objectMapper.readValue(
+                                                                result.getResponse().getContentAsString(),
+                                                                new TypeReference<>() {
+                                                                });
+                                                ChangeResponse change = response.getData().getChanges().stream()
+                                                                .filter(item -> item.getId().equals(addressId))
+                                                                .findFirst().orElseThrow();
+                                                assertTrue(change.getDeleted());
+                                                assertNull(change.getAddress());
+                                        });
+                } finally {
+                        jdbcTemplate.update("UPDATE contacts SET deleted_at = NULL WHERE id = ?",
+                                        UuidUtil.toBytes(contact.getId()));
+                }
+        }
+
         @Test
         void searchNotFound() throws Exception {
                 mockMvc.perform(
@@ -284,7 +759,8 @@ class ContactControllerTest {
                                                 .contentType(MediaType.APPLICATION_JSON)
                                                 .header("X-API-TOKEN", "test_token"))
                                 .andExpectAll(
-                                                status().isOk())
+                                                status().isOk(),
+                                                withinStatementBudget())
                                 .andDo(result -> {
                                         WebResponse<List<ContactResponse>> response = objectMapper.readValue(
                                                         result.getResponse().getContentAsString(),
@@ -298,13 +774,84 @@ class ContactControllerTest {
                                 });
         }
 
+        @Test
+        void searchStreamed() throws Exception {
+                User user = userRepository.findById("helmy_fadlail").orElseThrow();
+
+                for (int i = 0; i < 150; i++) {
+                        Contact contact = new Contact();
+                        contact.setId(UUID.randomUUID());
+                        contact.setUser(user);
+                        contact.setFirstName("Helmy " + i);
+                        contact.setLastName("Fadlail");
+                        contact.setEmail("helmyfadlail.5@gmail.com");
+                        contact.setPhone("081334105663");
+                        contactRepository.save(contact);
+                }
+
+                mockMvc.perform(
+                                get("/api/contacts")
+                                                .queryParam("name", "Helmy")
+                                                .queryParam("page", "1")
+                                                .queryParam("size", "100")
+                                                .queryParam("fields", "id,firstName")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk(),
+                                                content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                                                jsonPath("$.data[0].email").doesNotExist(),
+                                                withinStatementBudget())
+                                .andDo(result -> {
+                                        WebResponse<List<ContactResponse>> response = objectMapper.readValue(
+                                                        result.getResponse().getContentAsString(),
+                                                        new TypeReference<>() {
+                                                        });
+                                        assertNull(response.getErrors());
+                                        assertEquals(50, response.getData().size());
+                                        assertNotNull(response.getData().getFirst().getId());
+                                        assertNotNull(response.getData().getFirst().getFirstName());
+                                        assertEquals(2, response.getPaging().getTotalPage());
+                                        assertEquals(1, response.getPaging().getCurrentPage());
+                                        assertEquals(100, response.getPaging().getSize());
+                                });
+
+                mockMvc.perform(
+                                get("/api/contacts")
+                                                .queryParam("size", "200")
+                                                .queryParam("fields", "unknown")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isBadRequest());
+
+                // the preferred type wins even when listed after JSON
+                mockMvc.perform(
+                                get("/api/contacts")
+                                                .queryParam("name", "Helmy")
+                                                .queryParam("size", "100")
+                                                .header("Accept", "application/json;q=0.5, application/cbor")
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk(),
+                                                content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+
+                mockMvc.perform(
+                                get("/api/contacts")
+                                                .queryParam("size", "100")
+                                                .header("Accept", "json")
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isNotAcceptable());
+        }
+
         @Test
         void searchSuccess() throws Exception {
                 User user = userRepository.findById("helmy_fadlail").orElseThrow();
 
                 for (int i = 0; i < 100; i++) {
                         Contact contact = new Contact();
-                        contact.setId(UUID.randomUUID().toString());
+                        contact.setId(UUID.randomUUID());
                         contact.setUser(user);
                         contact.setFirstName("Helmy " + i);
                         contact.setLastName("Fadlail");
@@ -320,7 +867,8 @@ class ContactControllerTest {
                                                 .contentType(MediaType.APPLICATION_JSON)
                                                 .header("X-API-TOKEN", "test_token"))
                                 .andExpectAll(
-                                                status().isOk())
+                                                status().isOk(),
+                                                withinStatementBudget())
                                 .andDo(result -> {
                                         WebResponse<List<ContactResponse>> response = objectMapper.readValue(
                                                         result.getResponse().getContentAsString(),
@@ -340,7 +888,8 @@ class ContactControllerTest {
                                                 .contentType(MediaType.APPLICATION_JSON)
                                                 .header("X-API-TOKEN", "test_token"))
                                 .andExpectAll(
-                                                status().isOk())
+                                                status().isOk(),
+                                                withinStatementBudget())
                                 .andDo(result -> {
                                         WebResponse<List<ContactResponse>> response = objectMapper.readValue(
                                                         result.getResponse().getContentAsString(),
@@ -360,7 +909,8 @@ class ContactControllerTest {
                                                 .contentType(MediaType.APPLICATION_JSON)
                                                 .header("X-API-TOKEN", "test_token"))
                                 .andExpectAll(
-                                                status().isOk())
+                                                status().isOk(),
+                                                withinStatementBudget())
                                 .andDo(result -> {
                                         WebResponse<List<ContactResponse>> response = objectMapper.readValue(
                                                         result.getResponse().getContentAsString(),
@@ -380,7 +930,8 @@ class ContactControllerTest {
                                                 .contentType(MediaType.APPLICATION_JSON)
                                                 .header("X-API-TOKEN", "test_token"))
                                 .andExpectAll(
-                                                status().isOk())
+                                                status().isOk(),
+                                                withinStatementBudget())
                                 .andDo(result -> {
                                         WebResponse<List<ContactResponse>> response = objectMapper.readValue(
                                                         result.getResponse().getContentAsString(),
@@ -401,7 +952,8 @@ class ContactControllerTest {
                                                 .contentType(MediaType.APPLICATION_JSON)
                                                 .header("X-API-TOKEN", "test_token"))
                                 .andExpectAll(
-                                                status().isOk())
+                                                status().isOk(),
+                                                withinStatementBudget())
                                 .andDo(result -> {
                                         WebResponse<List<ContactResponse>> response = objectMapper.readValue(
                                                         result.getResponse().getContentAsString(),
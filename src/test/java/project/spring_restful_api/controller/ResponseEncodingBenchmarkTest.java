@@ -0,0 +1,106 @@
+package project.spring_restful_api.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import project.spring_restful_api.model.ContactResponse;
+import project.spring_restful_api.model.PagingResponse;
+import project.spring_restful_api.model.WebResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares payload size and encode/decode time of a 100 contact search page in
+ * JSON, CBOR and Smile, using the same mappers the converters serve with. Only
+ * runs with -Dbenchmark=true; -Dbenchmark.iterations controls the sample size.
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ResponseEncodingBenchmarkTest {
+
+        private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20_000);
+
+        private static final int PAGE_SIZE = 100;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+
+        @Autowired
+        private MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
+
+        @Test
+        void payloadSizeAndCodecTime() throws Exception {
+                WebResponse<List<ContactResponse>> page = page();
+
+                int json = measure("JSON", objectMapper, page);
+                int cbor = measure("CBOR", cborHttpMessageConverter.getObjectMapper(), page);
+                int smile = measure("Smile", smileHttpMessageConverter.getObjectMapper(), page);
+
+                assertTrue(cbor < json);
+                assertTrue(smile < json);
+        }
+
+        private int measure(String format, ObjectMapper mapper, WebResponse<List<ContactResponse>> page)
+                        throws Exception {
+                TypeReference<WebResponse<List<ContactResponse>>> type = new TypeReference<>() {
+                };
+                byte[] payload = mapper.writeValueAsBytes(page);
+                assertEquals(page, mapper.readValue(payload, type));
+
+                // warm up the serializers and the JIT before timing
+                for (int i = 0; i < ITERATIONS / 10; i++) {
+                        mapper.readValue(mapper.writeValueAsBytes(page), type);
+                }
+
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                        mapper.writeValueAsBytes(page);
+                }
+                long encode = (System.nanoTime() - start) / ITERATIONS;
+
+                start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                        mapper.readValue(payload, type);
+                }
+                long decode = (System.nanoTime() - start) / ITERATIONS;
+
+                log.info("{}: {} bytes, encode {} us, decode {} us", format, payload.length,
+                                encode / 1_000.0, decode / 1_000.0);
+                return payload.length;
+        }
+
+        private WebResponse<List<ContactResponse>> page() {
+                List<ContactResponse> contacts = new ArrayList<>(PAGE_SIZE);
+                for (int i = 0; i < PAGE_SIZE; i++) {
+                        contacts.add(ContactResponse.builder()
+                                        .id(UUID.randomUUID().toString())
+                                        .firstName("Helmy " + i)
+                                        .lastName("Fadlail")
+                                        .email("helmyfadlail." + i + "@gmail.com")
+                                        .phone("08133410" + String.format("%04d", i))
+                                        .build());
+                }
+                return WebResponse.<List<ContactResponse>>builder()
+                                .data(contacts)
+                                .paging(PagingResponse.builder()
+                                                .currentPage(0)
+                                                .totalPage(10)
+                                                .size(PAGE_SIZE)
+                                                .build())
+                                .build();
+        }
+}
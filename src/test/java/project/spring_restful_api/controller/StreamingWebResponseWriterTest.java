@@ -0,0 +1,87 @@
+package project.spring_restful_api.controller;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import project.spring_restful_api.model.ContactResponse;
+import project.spring_restful_api.model.PagingResponse;
+import project.spring_restful_api.model.WebResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingWebResponseWriterTest {
+
+        private final ObjectMapper objectMapper = new ObjectMapper()
+                        .setFilterProvider(new SimpleFilterProvider()
+                                        .addFilter(WebResponse.FIELD_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+
+        @Test
+        void completeStreamIsValidJson() throws Exception {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+
+                try (StreamingWebResponseWriter<ContactResponse> writer = new StreamingWebResponseWriter<>(objectMapper,
+                                null, response)) {
+                        cursor(100, -1).forEach(writer);
+                        writer.finish(PagingResponse.builder().currentPage(0).totalPage(1).size(100).build());
+                }
+
+                JsonNode body = objectMapper.readTree(response.getContentAsString());
+                assertEquals(100, body.get("data").size());
+                assertEquals(100, body.get("paging").get("size").asInt());
+        }
+
+        @Test
+        void cursorFailingAfterCommitLeavesJsonOpen() throws Exception {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                response.setBufferSize(1024);
+
+                assertThrows(IllegalStateException.class, () -> {
+                        try (StreamingWebResponseWriter<ContactResponse> writer = new StreamingWebResponseWriter<>(
+                                        objectMapper, null, response)) {
+                                cursor(100, 50).forEach(writer);
+                                writer.finish(PagingResponse.builder().currentPage(0).totalPage(1).size(100).build());
+                        }
+                });
+
+                assertTrue(response.isCommitted());
+                String body = response.getContentAsString();
+                assertTrue(body.startsWith("{\"data\":[{"));
+                assertTrue(body.contains("\"id\":\"49\""));
+                assertFalse(body.contains("\"id\":\"50\""));
+                assertThrows(JsonProcessingException.class, () -> objectMapper.readTree(body));
+        }
+
+        @Test
+        void cursorFailingBeforeCommitDropsBody() throws Exception {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+
+                assertThrows(IllegalStateException.class, () -> {
+                        try (StreamingWebResponseWriter<ContactResponse> writer = new StreamingWebResponseWriter<>(
+                                        objectMapper, null, response)) {
+                                cursor(100, 3).forEach(writer);
+                        }
+                });
+
+                assertFalse(response.isCommitted());
+                assertEquals("", response.getContentAsString());
+        }
+
+        // A cursor of contacts that fails when it reaches the given row.
+        private static Stream<ContactResponse> cursor(int rows, int failAt) {
+                return IntStream.range(0, rows).mapToObj(i -> {
+                        if (i == failAt) {
+                                throw new IllegalStateException("cursor failed");
+                        }
+                        return ContactResponse.builder().id(String.valueOf(i)).firstName("Helmy")
+                                        .lastName("Fadlail").email("helmyfadlail.5@gmail.com").phone("081334105663")
+                                        .version(0L).build();
+                });
+        }
+}
@@ -0,0 +1,105 @@
+package project.spring_restful_api.datasource;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import project.spring_restful_api.entity.Contact;
+import project.spring_restful_api.entity.User;
+import project.spring_restful_api.repository.AddressRepository;
+import project.spring_restful_api.repository.ContactRepository;
+import project.spring_restful_api.repository.UserRepository;
+import project.spring_restful_api.security.BCrypt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Connections must only be held by the transactions that need them: password
+ * hashing and response serialization run without one, and nothing may lazy
+ * load outside a transaction.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConnectionHoldTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private ContactRepository contactRepository;
+
+        @Autowired
+        private AddressRepository addressRepository;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        private String hash;
+
+        @BeforeEach
+        void setUp() {
+                addressRepository.deleteAll();
+                contactRepository.deleteAll();
+                userRepository.deleteAll();
+
+                hash = BCrypt.hashpw("rahasia", BCrypt.gensalt());
+
+                User user = new User();
+                user.setUsername("helmy_fadlail");
+                user.setPassword(hash);
+                user.setName("Helmy Fadlail");
+                user.setToken("test_token");
+                user.setTokenExpiredAt(System.currentTimeMillis() + 1000000000);
+                userRepository.save(user);
+        }
+
+        @Test
+        void loginDoesNotHoldConnectionWhileHashing() throws Exception {
+                long start = System.nanoTime();
+                BCrypt.checkpw("rahasia", hash);
+                long hashingMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+                mockMvc.perform(
+                                post("/api/auth/login")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("{\"username\":\"helmy_fadlail\",\"password\":\"rahasia\"}"))
+                                .andExpectAll(
+                                                status().isOk());
+
+                Timer hold = meterRegistry.get("app.datasource.connections.hold")
+                                .tag("endpoint", "AuthController.login").timer();
+                assertTrue(hold.count() > 0);
+                assertTrue(hold.max(TimeUnit.MILLISECONDS) < hashingMillis / 2.0,
+                                "connection held " + hold.max(TimeUnit.MILLISECONDS) + " ms, hashing takes "
+                                                + hashingMillis + " ms");
+        }
+
+        @Test
+        void lazyLoadingOutsideTransactionFails() {
+                User user = userRepository.findById("helmy_fadlail").orElseThrow();
+
+                Contact contact = new Contact();
+                contact.setId(UUID.randomUUID());
+                contact.setUser(user);
+                contact.setFirstName("Helmy");
+                contactRepository.save(contact);
+
+                Contact loaded = contactRepository.findById(contact.getId()).orElseThrow();
+                assertThrows(LazyInitializationException.class, () -> loaded.getUser().getName());
+        }
+}
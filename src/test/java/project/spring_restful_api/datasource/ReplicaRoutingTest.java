@@ -0,0 +1,183 @@
+package project.spring_restful_api.datasource;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.util.List;
+import java.util.UUID;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import project.spring_restful_api.DataSourceConfiguration;
+import project.spring_restful_api.EmbeddedMariaDb;
+import project.spring_restful_api.security.BCrypt;
+import project.spring_restful_api.util.UuidUtil;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Two embedded databases stand in for a primary and a replica that has not
+ * caught up: rows written only to the primary are invisible to read-only
+ * requests unless the read-your-writes token pins them to the primary.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReplicaRoutingTest {
+
+        private static String primaryUrl;
+
+        private static String replicaUrl;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private HikariDataSource primaryDataSource;
+
+        @Autowired
+        private DataSourceProperties dataSourceProperties;
+
+        @Autowired
+        private EndpointMetricsTrackerFactory metricsTrackerFactory;
+
+        private JdbcTemplate primary;
+
+        private UUID contactId;
+
+        @DynamicPropertySource
+        static void embeddedDatabases(DynamicPropertyRegistry registry) {
+                primaryUrl = EmbeddedMariaDb.start("replica-routing-primary");
+                replicaUrl = EmbeddedMariaDb.start("replica-routing-replica");
+                Flyway.configure().dataSource(replicaUrl, "root", "").load().migrate();
+
+                registry.add("spring.datasource.url", () -> primaryUrl);
+                registry.add("spring.datasource.username", () -> "root");
+                registry.add("spring.datasource.password", () -> "");
+                registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MariaDBDialect");
+                registry.add("spring.jpa.properties.hibernate.cache.use_second_level_cache", () -> "false");
+                registry.add("spring.jpa.properties.hibernate.cache.use_query_cache", () -> "false");
+                registry.add("app.datasource.replica.urls", () -> replicaUrl);
+        }
+
+        @BeforeAll
+        void seed() {
+                primary = new JdbcTemplate(new DriverManagerDataSource(primaryUrl, "root", ""));
+                JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(replicaUrl, "root", ""));
+
+                String password = BCrypt.hashpw("rahasia", BCrypt.gensalt());
+                for (JdbcTemplate database : new JdbcTemplate[] { primary, replica }) {
+                        database.update("INSERT INTO users (username, password, name, token, token_expired_at) "
+                                        + "VALUES (?, ?, ?, ?, ?)", "helmy_fadlail", password, "Helmy Fadlail",
+                                        "test_token", System.currentTimeMillis() + 1000000000);
+                }
+
+                contactId = UuidUtil.randomV7();
+                primary.update("INSERT INTO contacts (id, username, first_name) VALUES (?, ?, ?)",
+                                toBytes(contactId), "helmy_fadlail", "Helmy");
+        }
+
+        @Test
+        void readOnlyRequestUsesReplica() throws Exception {
+                mockMvc.perform(
+                                get("/api/contacts/" + contactId)
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isNotFound());
+        }
+
+        @Test
+        void readYourWritesTokenPinsPrimary() throws Exception {
+                mockMvc.perform(
+                                get("/api/contacts/" + contactId)
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token")
+                                                .header(ReadYourWritesFilter.HEADER,
+                                                                System.currentTimeMillis() + 4000))
+                                .andExpectAll(
+                                                status().isOk());
+        }
+
+        @Test
+        void readYourWritesTokenBeyondWindowUsesReplica() throws Exception {
+                mockMvc.perform(
+                                get("/api/contacts/" + contactId)
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token")
+                                                .header(ReadYourWritesFilter.HEADER, Long.MAX_VALUE))
+                                .andExpectAll(
+                                                status().isNotFound());
+        }
+
+        @Test
+        void expiredReadYourWritesTokenUsesReplica() throws Exception {
+                mockMvc.perform(
+                                get("/api/contacts/" + contactId)
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token")
+                                                .header(ReadYourWritesFilter.HEADER,
+                                                                System.currentTimeMillis() - 1))
+                                .andExpectAll(
+                                                status().isNotFound());
+        }
+
+        @Test
+        void writeGoesToPrimaryAndReturnsToken() throws Exception {
+                mockMvc.perform(
+                                post("/api/contacts")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("{\"firstName\":\"Albab\"}")
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpectAll(
+                                                status().isOk(),
+                                                header().exists(ReadYourWritesFilter.HEADER));
+
+                assertEquals(1, primary.queryForObject(
+                                "SELECT COUNT(*) FROM contacts WHERE first_name = 'Albab'", Integer.class));
+        }
+
+        @Test
+        void deadReplicaFallsBackToPrimaryWithinConnectionTimeout() throws Exception {
+                ReplicaDataSourceProperties replicaProperties = new ReplicaDataSourceProperties();
+                replicaProperties.setUrls(List.of("jdbc:mysql://127.0.0.1:1/spring_restful_api"));
+
+                try (ReplicaRoutingDataSource dataSource = new DataSourceConfiguration().replicaDataSource(
+                                primaryDataSource, dataSourceProperties, replicaProperties, metricsTrackerFactory)) {
+                        long start = System.nanoTime();
+                        try (Connection connection = dataSource.getConnection()) {
+                                assertTrue(connection.isValid(1));
+                        }
+                        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+
+                        // skipped during the cooldown
+                        start = System.nanoTime();
+                        try (Connection connection = dataSource.getConnection()) {
+                                assertTrue(connection.isValid(1));
+                        }
+                        assertTrue(System.nanoTime() - start < 500_000_000L);
+                }
+        }
+
+        private static byte[] toBytes(UUID id) {
+                return ByteBuffer.allocate(16)
+                                .putLong(id.getMostSignificantBits())
+                                .putLong(id.getLeastSignificantBits())
+                                .array();
+        }
+}
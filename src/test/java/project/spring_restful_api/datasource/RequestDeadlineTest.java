@@ -0,0 +1,125 @@
+package project.spring_restful_api.datasource;
+
+import java.time.Duration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.spring_restful_api.entity.User;
+import project.spring_restful_api.model.WebResponse;
+import project.spring_restful_api.repository.AddressRepository;
+import project.spring_restful_api.repository.ContactRepository;
+import project.spring_restful_api.repository.UserRepository;
+import project.spring_restful_api.security.BCrypt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RequestDeadlineTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private ContactRepository contactRepository;
+
+        @Autowired
+        private AddressRepository addressRepository;
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @BeforeEach
+        void setUp() {
+                addressRepository.deleteAll();
+                contactRepository.deleteAll();
+                userRepository.deleteAll();
+
+                User user = new User();
+                user.setUsername("helmy_fadlail");
+                user.setPassword(BCrypt.hashpw("rahasia", BCrypt.gensalt()));
+                user.setName("Helmy Fadlail");
+                user.setToken("test_token");
+                user.setTokenExpiredAt(System.currentTimeMillis() + 1000000000);
+                userRepository.save(user);
+        }
+
+        @AfterEach
+        void tearDown() {
+                RequestDeadline.clear();
+        }
+
+        @Test
+        void spentBudgetFailsBeforeDatabase() throws Exception {
+                mockMvc.perform(
+                                get("/api/contacts")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token")
+                                                .header(RequestDeadlineInterceptor.HEADER, "0"))
+                                .andExpectAll(
+                                                status().isGatewayTimeout())
+                                .andDo(result -> {
+                                        WebResponse<String> response = objectMapper.readValue(
+                                                        result.getResponse().getContentAsString(),
+                                                        new TypeReference<WebResponse<String>>() {
+                                                        });
+                                        assertEquals("Request deadline exceeded", response.getErrors());
+                                        assertEquals(0, result.getRequest()
+                                                        .getAttribute(StatementBudgetInterceptor.COUNT_ATTRIBUTE));
+                                });
+        }
+
+        @Test
+        void searchWithinBudget() throws Exception {
+                mockMvc.perform(
+                                get("/api/contacts")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token")
+                                                .header(RequestDeadlineInterceptor.HEADER, "2s"))
+                                .andExpectAll(
+                                                status().isOk());
+        }
+
+        @Test
+        void invalidTimeoutHeader() throws Exception {
+                mockMvc.perform(
+                                get("/api/contacts")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token")
+                                                .header(RequestDeadlineInterceptor.HEADER, "soon"))
+                                .andExpectAll(
+                                                status().isBadRequest());
+        }
+
+        @Test
+        void remainingBudgetBecomesQueryTimeout() {
+                RequestDeadline.start(Duration.ofMillis(1500));
+
+                long start = System.nanoTime();
+                assertThrows(QueryTimeoutException.class, () -> transactionTemplate.execute(
+                                status -> jdbcTemplate.queryForObject("SELECT SLEEP(10)", Integer.class)));
+                assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+        }
+}
@@ -0,0 +1,178 @@
+package project.spring_restful_api.datasource;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import project.spring_restful_api.EmbeddedMariaDb;
+import project.spring_restful_api.model.LoginUserRequest;
+import project.spring_restful_api.model.RegisterUserRequest;
+import project.spring_restful_api.model.TokenResponse;
+import project.spring_restful_api.model.WebResponse;
+import project.spring_restful_api.security.BCrypt;
+import project.spring_restful_api.util.UuidUtil;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Two embedded databases act as shards. Requests for a user must only touch
+ * the shard its username hashes to, and the rebalancer must move users that
+ * sit on the wrong one.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ShardRoutingTest {
+
+        private static String firstUrl;
+
+        private static String secondUrl;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private ShardRouter shardRouter;
+
+        @Autowired
+        private ShardRebalancer shardRebalancer;
+
+        private List<JdbcTemplate> shards;
+
+        @DynamicPropertySource
+        static void embeddedDatabases(DynamicPropertyRegistry registry) {
+                firstUrl = EmbeddedMariaDb.start("shard-routing-0");
+                secondUrl = EmbeddedMariaDb.start("shard-routing-1");
+
+                registry.add("spring.datasource.url", () -> firstUrl);
+                registry.add("spring.datasource.username", () -> "root");
+                registry.add("spring.datasource.password", () -> "");
+                registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MariaDBDialect");
+                registry.add("spring.jpa.properties.hibernate.cache.use_second_level_cache", () -> "false");
+                registry.add("spring.jpa.properties.hibernate.cache.use_query_cache", () -> "false");
+                registry.add("app.datasource.shards.urls", () -> firstUrl + "," + secondUrl);
+        }
+
+        @BeforeAll
+        void connect() {
+                shards = List.of(
+                                new JdbcTemplate(new DriverManagerDataSource(firstUrl, "root", "")),
+                                new JdbcTemplate(new DriverManagerDataSource(secondUrl, "root", "")));
+        }
+
+        @Test
+        void userDataStaysOnItsShard() throws Exception {
+                for (int shard = 0; shard < shards.size(); shard++) {
+                        String username = usernameOn(shard, "routed");
+
+                        RegisterUserRequest register = new RegisterUserRequest();
+                        register.setUsername(username);
+                        register.setPassword("rahasia");
+                        register.setName("Helmy Fadlail");
+                        mockMvc.perform(
+                                        post("/api/users")
+                                                        .accept(MediaType.APPLICATION_JSON)
+                                                        .contentType(MediaType.APPLICATION_JSON)
+                                                        .content(objectMapper.writeValueAsString(register)))
+                                        .andExpectAll(
+                                                        status().isOk());
+
+                        LoginUserRequest login = new LoginUserRequest();
+                        login.setUsername(username);
+                        login.setPassword("rahasia");
+                        String body = mockMvc.perform(
+                                        post("/api/auth/login")
+                                                        .accept(MediaType.APPLICATION_JSON)
+                                                        .contentType(MediaType.APPLICATION_JSON)
+                                                        .content(objectMapper.writeValueAsString(login)))
+                                        .andExpectAll(
+                                                        status().isOk())
+                                        .andReturn().getResponse().getContentAsString();
+                        String token = objectMapper.readValue(body, new TypeReference<WebResponse<TokenResponse>>() {
+                        }).getData().getToken();
+
+                        mockMvc.perform(
+                                        post("/api/contacts")
+                                                        .accept(MediaType.APPLICATION_JSON)
+                                                        .contentType(MediaType.APPLICATION_JSON)
+                                                        .content("{\"firstName\":\"Helmy\"}")
+                                                        .header("X-API-TOKEN", token))
+                                        .andExpectAll(
+                                                        status().isOk());
+
+                        assertEquals(1, countUsers(shard, username));
+                        assertEquals(0, countUsers(1 - shard, username));
+                        assertEquals(1, countContacts(shard, username));
+                        assertEquals(0, countContacts(1 - shard, username));
+                }
+        }
+
+        @Test
+        void rebalancerMovesMisplacedUser() {
+                String username = usernameOn(1, "misplaced");
+                JdbcTemplate wrong = shards.get(0);
+
+                wrong.update("INSERT INTO users (username, password, name) VALUES (?, ?, ?)",
+                                username, BCrypt.hashpw("rahasia", BCrypt.gensalt()), "Helmy Fadlail");
+                UUID contactId = UuidUtil.randomV7();
+                wrong.update("INSERT INTO contacts (id, username, first_name) VALUES (?, ?, ?)",
+                                toBytes(contactId), username, "Helmy");
+                wrong.update("INSERT INTO addresses (id, contact_id, street, country) VALUES (?, ?, ?, ?)",
+                                toBytes(UuidUtil.randomV7()), toBytes(contactId), "Jl. Raya Sawahan", "Indonesia");
+
+                assertTrue(shardRebalancer.rebalance() >= 1);
+
+                assertEquals(0, countUsers(0, username));
+                assertEquals(0, countContacts(0, username));
+                assertEquals(1, countUsers(1, username));
+                assertEquals(1, countContacts(1, username));
+                assertEquals(1, shards.get(1).queryForObject(
+                                "SELECT COUNT(*) FROM addresses WHERE contact_id = ?", Integer.class,
+                                (Object) toBytes(contactId)));
+        }
+
+        private String usernameOn(int shard, String prefix) {
+                for (int i = 0;; i++) {
+                        String username = prefix + "_" + i;
+                        if (shardRouter.shardOf(username) == shard) {
+                                return username;
+                        }
+                }
+        }
+
+        private int countUsers(int shard, String username) {
+                return shards.get(shard).queryForObject(
+                                "SELECT COUNT(*) FROM users WHERE username = ?", Integer.class, username);
+        }
+
+        private int countContacts(int shard, String username) {
+                return shards.get(shard).queryForObject(
+                                "SELECT COUNT(*) FROM contacts WHERE username = ?", Integer.class, username);
+        }
+
+        private static byte[] toBytes(UUID id) {
+                return ByteBuffer.allocate(16)
+                                .putLong(id.getMostSignificantBits())
+                                .putLong(id.getLeastSignificantBits())
+                                .array();
+        }
+}
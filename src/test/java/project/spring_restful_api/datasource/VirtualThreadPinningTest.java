@@ -0,0 +1,137 @@
+package project.spring_restful_api.datasource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import project.spring_restful_api.entity.Contact;
+import project.spring_restful_api.entity.User;
+import project.spring_restful_api.repository.AddressRepository;
+import project.spring_restful_api.repository.ContactRepository;
+import project.spring_restful_api.repository.UserRepository;
+import project.spring_restful_api.security.BCrypt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * With spring.threads.virtual.enabled, requests that wait on the Hikari pool
+ * and on MySQL must not pin their carrier thread. Records
+ * jdk.VirtualThreadPinned through JFR while more requests than pooled
+ * connections run at once. The concurrency limiter stays on, its limit fixed
+ * above the request count, so every response goes through its update.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+                "spring.threads.virtual.enabled=true",
+                "spring.datasource.hikari.maximum-pool-size=10",
+                "app.bulkhead.limits.contact-search=1000",
+                "app.rate-limit.limits.contact-search.requests=0",
+                "app.concurrency-limit.initial-limit=1000",
+                "app.concurrency-limit.min-limit=1000",
+                "app.concurrency-limit.max-limit=1000",
+                "app.fair-queue.permits=100000" })
+class VirtualThreadPinningTest {
+
+        private static final int REQUESTS = 200;
+
+        private static final List<String> AUDITED_PACKAGES = List.of("com.mysql.", "com.zaxxer.hikari.",
+                        "project.spring_restful_api.");
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private ContactRepository contactRepository;
+
+        @Autowired
+        private AddressRepository addressRepository;
+
+        @BeforeEach
+        void setUp() {
+                addressRepository.deleteAll();
+                contactRepository.deleteAll();
+                userRepository.deleteAll();
+
+                User user = new User();
+                user.setUsername("helmy_fadlail");
+                user.setPassword(BCrypt.hashpw("rahasia", BCrypt.gensalt()));
+                user.setName("Helmy Fadlail");
+                user.setToken("test_token");
+                user.setTokenExpiredAt(System.currentTimeMillis() + 1000000000);
+                userRepository.save(user);
+
+                for (int i = 0; i < 20; i++) {
+                        Contact contact = new Contact();
+                        contact.setId(UUID.randomUUID());
+                        contact.setUser(user);
+                        contact.setFirstName("Helmy " + i);
+                        contactRepository.save(contact);
+                }
+        }
+
+        @Test
+        void requestsDoNotPinCarrierThreads() throws Exception {
+                List<String> pinned = new CopyOnWriteArrayList<>();
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/contacts?name=Helmy"))
+                                .header("Accept", "application/json")
+                                .header("X-API-TOKEN", "test_token")
+                                .build();
+
+                try (RecordingStream recording = new RecordingStream();
+                                HttpClient client = HttpClient.newHttpClient();
+                                ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                        recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+                        recording.onEvent("jdk.VirtualThreadPinned", event -> {
+                                if (isAudited(event)) {
+                                        pinned.add(event.getStackTrace().toString());
+                                }
+                        });
+                        recording.startAsync();
+
+                        List<Future<Integer>> statuses = new ArrayList<>();
+                        for (int i = 0; i < REQUESTS; i++) {
+                                statuses.add(clients.submit(() -> client
+                                                .send(request, HttpResponse.BodyHandlers.discarding()).statusCode()));
+                        }
+                        for (Future<Integer> status : statuses) {
+                                assertEquals(200, status.get());
+                        }
+
+                        recording.stop();
+                }
+
+                assertEquals(List.of(), pinned);
+        }
+
+        private boolean isAudited(RecordedEvent event) {
+                if (event.getStackTrace() == null) {
+                        return false;
+                }
+                for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+                        String type = frame.getMethod().getType().getName();
+                        if (AUDITED_PACKAGES.stream().anyMatch(type::startsWith)) {
+                                return true;
+                        }
+                }
+                return false;
+        }
+}
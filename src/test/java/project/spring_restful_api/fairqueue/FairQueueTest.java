@@ -0,0 +1,201 @@
+package project.spring_restful_api.fairqueue;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+import project.spring_restful_api.entity.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FairQueueTest {
+
+        private static final long CALL_MILLIS = 20;
+
+        @Test
+        void smallUserTailLatencyIsolatedFromLargeTenant() throws Exception {
+                MeterRegistry meterRegistry = new SimpleMeterRegistry();
+                FairQueue fairQueue = new FairQueue(properties(2, Duration.ofSeconds(30)), meterRegistry);
+                User tenant = user("large_tenant");
+                User small = user("small_user");
+
+                try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                        // 100 large searches queued at once: about a second of work on two slots
+                        List<Future<Long>> tenantCalls = new ArrayList<>();
+                        for (int i = 0; i < 100; i++) {
+                                tenantCalls.add(executor.submit(() -> call(fairQueue, tenant, 100)));
+                        }
+                        Thread.sleep(100);
+
+                        List<Future<Long>> smallCalls = new ArrayList<>();
+                        for (int i = 0; i < 10; i++) {
+                                smallCalls.add(executor.submit(() -> call(fairQueue, small, 10)));
+                                Thread.sleep(CALL_MILLIS);
+                        }
+
+                        long smallWorst = 0;
+                        for (Future<Long> call : smallCalls) {
+                                smallWorst = Math.max(smallWorst, call.get());
+                        }
+                        long tenantWorst = 0;
+                        for (Future<Long> call : tenantCalls) {
+                                tenantWorst = Math.max(tenantWorst, call.get());
+                        }
+
+                        // first come first served would make every small call wait behind the backlog
+                        assertTrue(smallWorst < 10 * CALL_MILLIS, "small user waited " + smallWorst + " ms");
+                        assertTrue(tenantWorst > 20 * CALL_MILLIS);
+                }
+
+                Timer smallWait = meterRegistry.get("app.fair-queue.wait").tag("user", "small_user").timer();
+                Timer tenantWait = meterRegistry.get("app.fair-queue.wait").tag("user", "large_tenant").timer();
+                assertTrue(smallWait.max(TimeUnit.MILLISECONDS) < tenantWait.max(TimeUnit.MILLISECONDS));
+        }
+
+        @Test
+        void rejectedAfterMaxWait() throws Exception {
+                MeterRegistry meterRegistry = new SimpleMeterRegistry();
+                FairQueue fairQueue = new FairQueue(properties(1, Duration.ofMillis(50)), meterRegistry);
+
+                try (FairQueue.Permit permit = fairQueue.acquire(user("large_tenant"), 100)) {
+                        assertThrows(ResponseStatusException.class, () -> fairQueue.acquire(user("small_user"), 10));
+                }
+                assertEquals(1.0, meterRegistry.get("app.fair-queue.rejected").tag("user", "small_user").counter()
+                                .count(), 0.0);
+
+                try (FairQueue.Permit permit = fairQueue.acquire(user("small_user"), 10)) {
+                        assertNotNull(permit);
+                }
+        }
+
+        @Test
+        void oversizedCostIsClamped() throws Exception {
+                FairQueue fairQueue = new FairQueue(properties(1, Duration.ofSeconds(5)), new SimpleMeterRegistry());
+
+                try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                        Future<Long> huge;
+                        Future<Long> small;
+                        try (FairQueue.Permit permit = fairQueue.acquire(user("large_tenant"), 100)) {
+                                huge = executor.submit(() -> call(fairQueue, user("large_tenant"), Integer.MAX_VALUE));
+                                Thread.sleep(50);
+                                small = executor.submit(() -> call(fairQueue, user("small_user"), 10));
+                                Thread.sleep(50);
+                        }
+
+                        // the huge page is charged max-cost, so both calls are served promptly
+                        assertTrue(huge.get(1, TimeUnit.SECONDS) < 1000);
+                        assertTrue(small.get(1, TimeUnit.SECONDS) < 1000);
+                }
+        }
+
+        @Test
+        void grantOrderMatchesPerTurnDeficitRoundRobin() throws Exception {
+                MeterRegistry meterRegistry = new SimpleMeterRegistry();
+                FairQueueProperties properties = properties(1, Duration.ofSeconds(30));
+                properties.getWeights().put("user_1", 2);
+                FairQueue fairQueue = new FairQueue(properties, meterRegistry);
+
+                // a fixed seed keeps the costs and the arrival order repeatable
+                Random random = new Random(42);
+                List<Arrival> arrivals = new ArrayList<>();
+                for (int i = 0; i < 40; i++) {
+                        arrivals.add(new Arrival("user_" + random.nextInt(4), 1 + random.nextInt(350)));
+                }
+
+                List<Integer> granted = Collections.synchronizedList(new ArrayList<>());
+                try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                        List<Future<?>> calls = new ArrayList<>();
+                        try (FairQueue.Permit permit = fairQueue.acquire(user("holder"), 1)) {
+                                for (int i = 0; i < arrivals.size(); i++) {
+                                        int index = i;
+                                        Arrival arrival = arrivals.get(i);
+                                        calls.add(executor.submit(() -> {
+                                                try (FairQueue.Permit next = fairQueue.acquire(user(arrival.username()),
+                                                                arrival.cost())) {
+                                                        granted.add(index);
+                                                }
+                                                return null;
+                                        }));
+                                        while (meterRegistry.get("app.fair-queue.waiting").gauge().value() < i + 1) {
+                                                Thread.sleep(1);
+                                        }
+                                }
+                        }
+                        for (Future<?> call : calls) {
+                                call.get(5, TimeUnit.SECONDS);
+                        }
+                }
+
+                // one slot freed at a time, so every grant follows the previous call's release
+                assertEquals(perTurnOrder(arrivals, properties), granted);
+        }
+
+        // Deficit round robin one turn at a time: the queue at the front is
+        // credited, serves what its credit covers and goes to the back.
+        private static List<Integer> perTurnOrder(List<Arrival> arrivals, FairQueueProperties properties) {
+                Map<String, Deque<Integer>> queues = new LinkedHashMap<>();
+                for (int i = 0; i < arrivals.size(); i++) {
+                        queues.computeIfAbsent(arrivals.get(i).username(), username -> new ArrayDeque<>()).addLast(i);
+                }
+
+                Deque<String> rounds = new ArrayDeque<>(queues.keySet());
+                Map<String, Long> deficits = new HashMap<>();
+                List<Integer> order = new ArrayList<>();
+                while (!rounds.isEmpty()) {
+                        String username = rounds.pollFirst();
+                        Deque<Integer> queue = queues.get(username);
+                        long deficit = deficits.getOrDefault(username, 0L)
+                                        + properties.getQuantum() * properties.getWeights().getOrDefault(username, 1);
+                        while (!queue.isEmpty() && deficit >= arrivals.get(queue.peekFirst()).cost()) {
+                                deficit -= arrivals.get(queue.peekFirst()).cost();
+                                order.add(queue.pollFirst());
+                        }
+                        if (!queue.isEmpty()) {
+                                deficits.put(username, deficit);
+                                rounds.addLast(username);
+                        }
+                }
+                return order;
+        }
+
+        private record Arrival(String username, long cost) {
+        }
+
+        // Returns the milliseconds from asking for a slot to finishing the call.
+        private static long call(FairQueue fairQueue, User user, long cost) throws InterruptedException {
+                long start = System.nanoTime();
+                try (FairQueue.Permit permit = fairQueue.acquire(user, cost)) {
+                        Thread.sleep(CALL_MILLIS);
+                }
+                return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+
+        private static FairQueueProperties properties(int permits, Duration maxWait) {
+                FairQueueProperties properties = new FairQueueProperties();
+                properties.setPermits(permits);
+                properties.setMaxWait(maxWait);
+                return properties;
+        }
+
+        private static User user(String username) {
+                User user = new User();
+                user.setUsername(username);
+                return user;
+        }
+}
@@ -0,0 +1,83 @@
+package project.spring_restful_api.limiter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientConcurrencyLimiterTest {
+
+        @Test
+        void bulkShedBeforeReadsWritesAndLogins() {
+                GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(properties(20));
+
+                for (int i = 0; i < 10; i++) {
+                        assertTrue(limiter.tryAcquire(RequestPriority.BULK));
+                }
+                assertFalse(limiter.tryAcquire(RequestPriority.BULK));
+
+                for (int i = 0; i < 5; i++) {
+                        assertTrue(limiter.tryAcquire(RequestPriority.READ));
+                }
+                assertFalse(limiter.tryAcquire(RequestPriority.READ));
+
+                for (int i = 0; i < 3; i++) {
+                        assertTrue(limiter.tryAcquire(RequestPriority.WRITE));
+                }
+                assertFalse(limiter.tryAcquire(RequestPriority.WRITE));
+
+                assertTrue(limiter.tryAcquire(RequestPriority.CRITICAL));
+                assertTrue(limiter.tryAcquire(RequestPriority.CRITICAL));
+                assertFalse(limiter.tryAcquire(RequestPriority.CRITICAL));
+
+                limiter.release(0, false);
+                assertTrue(limiter.tryAcquire(RequestPriority.CRITICAL));
+        }
+
+        @Test
+        void limitShrinksWhenLatencyRisesAndRecovers() {
+                GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(properties(100));
+
+                sample(limiter, 200, TimeUnit.MILLISECONDS.toNanos(10));
+                int steady = limiter.getLimit();
+                assertTrue(steady >= 100);
+
+                sample(limiter, 200, TimeUnit.MILLISECONDS.toNanos(100));
+                int overloaded = limiter.getLimit();
+                assertTrue(overloaded < steady);
+
+                sample(limiter, 2_000, TimeUnit.MILLISECONDS.toNanos(10));
+                assertTrue(limiter.getLimit() > overloaded);
+        }
+
+        @Test
+        void priorityOfRequest() {
+                assertEquals(RequestPriority.CRITICAL, RequestPriority.of(new MockHttpServletRequest("POST", "/api/auth/login")));
+                assertEquals(RequestPriority.WRITE, RequestPriority.of(new MockHttpServletRequest("POST", "/api/contacts")));
+                assertEquals(RequestPriority.BULK, RequestPriority.of(new MockHttpServletRequest("GET", "/api/contacts")));
+                assertEquals(RequestPriority.BULK, RequestPriority.of(new MockHttpServletRequest("GET", "/api/contacts/changes")));
+                assertEquals(RequestPriority.READ, RequestPriority.of(new MockHttpServletRequest("GET", "/api/users/current")));
+        }
+
+        // Keeps the limiter fully used, as under overload, while feeding latencies.
+        private void sample(GradientConcurrencyLimiter limiter, int count, long rttNanos) {
+                for (int i = 0; i < count; i++) {
+                        while (limiter.tryAcquire(RequestPriority.CRITICAL)) {
+                        }
+                        limiter.release(rttNanos, true);
+                }
+                while (limiter.getInFlight() > 0) {
+                        limiter.release(0, false);
+                }
+        }
+
+        private ConcurrencyLimitProperties properties(int limit) {
+                ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+                properties.setInitialLimit(limit);
+                properties.setMinLimit(1);
+                properties.setMaxLimit(1_000);
+                return properties;
+        }
+}
@@ -0,0 +1,112 @@
+package project.spring_restful_api.limiter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import project.spring_restful_api.security.BCrypt;
+import project.spring_restful_api.util.UuidUtil;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Offers GET /api/contacts from -Dbenchmark.capacity closed-loop clients
+ * (roughly what the pool serves without queueing, default 50) and then from
+ * twice as many, and checks that goodput (200 responses per second) holds up
+ * because the excess is shed with 503 instead of queueing. Only runs with
+ * -Dbenchmark=true.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+                "app.bulkhead.limits.contact-search=100000",
+                "app.rate-limit.limits.contact-search.requests=0" })
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class OverloadBenchmarkTest {
+
+        private static final int CAPACITY = Integer.getInteger("benchmark.capacity", 50);
+
+        private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.duration", 30));
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @BeforeEach
+        void setUp() {
+                jdbcTemplate.update("DELETE FROM addresses");
+                jdbcTemplate.update("DELETE FROM contacts");
+                jdbcTemplate.update("DELETE FROM users");
+
+                jdbcTemplate.update("INSERT INTO users (username, password, name, token, token_expired_at) "
+                                + "VALUES (?, ?, ?, ?, ?)", "helmy_fadlail", BCrypt.hashpw("rahasia", BCrypt.gensalt()),
+                                "Helmy Fadlail", "test_token", System.currentTimeMillis() + 1000000000);
+                for (int i = 0; i < 100; i++) {
+                        jdbcTemplate.update("INSERT INTO contacts (id, username, first_name, last_name) VALUES (?, ?, ?, ?)",
+                                        UuidUtil.toBytes(UuidUtil.randomV7()), "helmy_fadlail", "Helmy " + i, "Fadlail");
+                }
+        }
+
+        @Test
+        void goodputStableAtTwiceCapacity() throws Exception {
+                // warm up the JIT and let the limit settle before measuring
+                goodput(CAPACITY, Duration.ofSeconds(10));
+
+                double atCapacity = goodput(CAPACITY, DURATION);
+                double overloaded = goodput(CAPACITY * 2, DURATION);
+
+                log.info("goodput: {} requests/s at {} clients, {} requests/s at {} clients", Math.round(atCapacity),
+                                CAPACITY, Math.round(overloaded), CAPACITY * 2);
+                assertTrue(overloaded >= atCapacity * 0.8);
+        }
+
+        private double goodput(int clients, Duration duration) throws Exception {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/contacts?name=Helmy"))
+                                .header("Accept", "application/json")
+                                .header("X-API-TOKEN", "test_token")
+                                .build();
+                LongAdder succeeded = new LongAdder();
+                LongAdder shed = new LongAdder();
+                long deadline = System.nanoTime() + duration.toNanos();
+
+                try (HttpClient client = HttpClient.newHttpClient();
+                                ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                        for (int i = 0; i < clients; i++) {
+                                executor.submit(() -> {
+                                        while (System.nanoTime() < deadline) {
+                                                try {
+                                                        int status = client.send(request, HttpResponse.BodyHandlers.discarding())
+                                                                        .statusCode();
+                                                        if (status == 200) {
+                                                                succeeded.increment();
+                                                        } else if (status == 503) {
+                                                                shed.increment();
+                                                        }
+                                                } catch (IOException e) {
+                                                        // counted as neither served nor shed
+                                                }
+                                        }
+                                        return null;
+                                });
+                        }
+                }
+
+                log.info("{} clients: {} served, {} shed", clients, succeeded.sum(), shed.sum());
+                return succeeded.sum() / (double) duration.toSeconds();
+        }
+}
@@ -0,0 +1,142 @@
+package project.spring_restful_api.ratelimit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import project.spring_restful_api.entity.User;
+import project.spring_restful_api.model.WebResponse;
+import project.spring_restful_api.repository.AddressRepository;
+import project.spring_restful_api.repository.ContactRepository;
+import project.spring_restful_api.repository.UserRepository;
+import project.spring_restful_api.security.BCrypt;
+import project.spring_restful_api.util.JwtUtil;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+                "app.rate-limit.limits.contact-search.requests=2",
+                "app.rate-limit.limits.contact-search.period=1h" })
+@AutoConfigureMockMvc
+class RateLimitTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private ContactRepository contactRepository;
+
+        @Autowired
+        private AddressRepository addressRepository;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Autowired
+        private JwtUtil jwtUtil;
+
+        private String token;
+
+        private String otherToken;
+
+        @BeforeEach
+        void setUp() {
+                addressRepository.deleteAll();
+                contactRepository.deleteAll();
+                userRepository.deleteAll();
+
+                token = createUser("helmy_fadlail");
+                otherToken = createUser("other_user");
+        }
+
+        @Test
+        void searchRejectedOnceTokenExhausted() throws Exception {
+                for (int i = 0; i < 2; i++) {
+                        mockMvc.perform(
+                                        get("/api/contacts")
+                                                        .accept(MediaType.APPLICATION_JSON)
+                                                        .header("X-API-TOKEN", token))
+                                        .andExpectAll(
+                                                        status().isOk());
+                }
+
+                mockMvc.perform(
+                                get("/api/contacts")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", token))
+                                .andExpectAll(
+                                                status().isTooManyRequests(),
+                                                header().exists("Retry-After"))
+                                .andDo(result -> {
+                                        WebResponse<String> response = objectMapper.readValue(
+                                                        result.getResponse().getContentAsString(),
+                                                        new TypeReference<WebResponse<String>>() {
+                                                        });
+                                        assertEquals("Too many requests", response.getErrors());
+                                        assertTrue(Long.parseLong(result.getResponse().getHeader("Retry-After")) > 0);
+                                });
+
+                assertEquals(1.0, meterRegistry.get("app.rate-limit.rejected")
+                                .tag("group", "contact-search").counter().count(), 0.0);
+
+                mockMvc.perform(
+                                get("/api/contacts")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", otherToken))
+                                .andExpectAll(
+                                                status().isOk());
+        }
+
+        @Test
+        void unverifiedTokensShareOneBucket() throws Exception {
+                for (int i = 0; i < 2; i++) {
+                        mockMvc.perform(
+                                        get("/api/contacts")
+                                                        .accept(MediaType.APPLICATION_JSON)
+                                                        .header("X-API-TOKEN", "forged_" + i))
+                                        .andExpectAll(
+                                                        status().isUnauthorized());
+                }
+
+                // a fresh random token gets no budget of its own
+                mockMvc.perform(
+                                get("/api/contacts")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "forged_2"))
+                                .andExpectAll(
+                                                status().isTooManyRequests());
+
+                mockMvc.perform(
+                                get("/api/contacts")
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", createUser("third_user")))
+                                .andExpectAll(
+                                                status().isOk());
+        }
+
+        private String createUser(String username) {
+                String token = jwtUtil.generateToken(username);
+                User user = new User();
+                user.setUsername(username);
+                user.setPassword(BCrypt.hashpw("rahasia", BCrypt.gensalt()));
+                user.setName("Helmy Fadlail");
+                user.setToken(token);
+                user.setTokenExpiredAt(System.currentTimeMillis() + 1000000000);
+                userRepository.save(user);
+                return token;
+        }
+}
@@ -0,0 +1,79 @@
+package project.spring_restful_api.ratelimit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import project.spring_restful_api.util.JwtUtil;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the cost of {@link RateLimiter#tryAcquire} from many threads over
+ * more signed tokens than the bucket cache holds, so signature checks, lookups,
+ * inserts, evictions and contended compare-and-sets are all exercised. Only
+ * runs with -Dbenchmark=true.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+                "app.rate-limit.max-tokens=10000",
+                "app.rate-limit.limits.benchmark.requests=1000000",
+                "app.rate-limit.limits.benchmark.period=1s" })
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RateLimiterBenchmarkTest {
+
+        private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 2_000_000);
+
+        private static final int THREADS = 16;
+
+        private static final int TOKENS = 20_000;
+
+        @Autowired
+        private RateLimiter rateLimiter;
+
+        @Autowired
+        private JwtUtil jwtUtil;
+
+        @Test
+        void tryAcquireThroughput() throws Exception {
+                String[] tokens = new String[TOKENS];
+                for (int i = 0; i < TOKENS; i++) {
+                        tokens[i] = jwtUtil.generateToken("user_" + i);
+                }
+
+                // warm up the cache and the JIT before timing
+                run(tokens, ITERATIONS / 10);
+                long start = System.nanoTime();
+                run(tokens, ITERATIONS);
+                long elapsed = System.nanoTime() - start;
+
+                double perCall = (double) elapsed * THREADS / ITERATIONS;
+                double throughput = ITERATIONS * 1_000_000_000.0 / elapsed;
+                log.info("RateLimiter: {} ns per call, {} calls/s over {} threads", perCall, (long) throughput, THREADS);
+                assertTrue(throughput > 50_000);
+        }
+
+        private void run(String[] tokens, int iterations) throws Exception {
+                try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+                        List<Future<?>> futures = new ArrayList<>();
+                        for (int t = 0; t < THREADS; t++) {
+                                int offset = t;
+                                futures.add(executor.submit(() -> {
+                                        for (int i = offset; i < iterations; i += THREADS) {
+                                                rateLimiter.tryAcquire("benchmark", tokens[i % tokens.length]);
+                                        }
+                                }));
+                        }
+                        for (Future<?> future : futures) {
+                                future.get();
+                        }
+                }
+        }
+}
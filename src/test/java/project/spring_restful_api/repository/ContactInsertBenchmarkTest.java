@@ -0,0 +1,94 @@
+package project.spring_restful_api.repository;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import project.spring_restful_api.entity.User;
+import project.spring_restful_api.security.BCrypt;
+import project.spring_restful_api.util.UuidUtil;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares insert throughput into the BINARY(16) contacts primary key with
+ * random (v4) and time ordered (v7) keys. Only runs with -Dbenchmark=true; use
+ * -Dbenchmark.rows to grow the table past the InnoDB buffer pool, where the
+ * page splits caused by random keys dominate.
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ContactInsertBenchmarkTest {
+
+        private static final int ROWS = Integer.getInteger("benchmark.rows", 200_000);
+
+        private static final int BATCH_SIZE = 1_000;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private ContactRepository contactRepository;
+
+        @Autowired
+        private AddressRepository addressRepository;
+
+        @BeforeEach
+        void setUp() {
+                addressRepository.deleteAll();
+                contactRepository.deleteAll();
+                userRepository.deleteAll();
+
+                User user = new User();
+                user.setUsername("helmy_fadlail");
+                user.setPassword(BCrypt.hashpw("rahasia", BCrypt.gensalt()));
+                user.setName("Helmy Fadlail");
+                userRepository.save(user);
+        }
+
+        @Test
+        void insertThroughputRandomVersusTimeOrderedKeys() {
+                double random = insert(UUID::randomUUID);
+                jdbcTemplate.update("DELETE FROM contacts");
+                double timeOrdered = insert(UuidUtil::randomV7);
+                jdbcTemplate.update("DELETE FROM contacts");
+
+                log.info("Inserted {} contacts: UUIDv4 {} rows/s, UUIDv7 {} rows/s",
+                                ROWS, Math.round(random), Math.round(timeOrdered));
+                assertTrue(random > 0);
+                assertTrue(timeOrdered > 0);
+        }
+
+        private double insert(Supplier<UUID> ids) {
+                long start = System.nanoTime();
+                for (int batch = 0; batch < ROWS / BATCH_SIZE; batch++) {
+                        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+                        for (int i = 0; i < BATCH_SIZE; i++) {
+                                rows.add(new Object[] { toBytes(ids.get()), "helmy_fadlail", "Helmy " + i });
+                        }
+                        jdbcTemplate.batchUpdate("INSERT INTO contacts (id, username, first_name) VALUES (?, ?, ?)",
+                                        rows);
+                }
+                return ROWS / ((System.nanoTime() - start) / 1_000_000_000.0);
+        }
+
+        private byte[] toBytes(UUID id) {
+                return ByteBuffer.allocate(16)
+                                .putLong(id.getMostSignificantBits())
+                                .putLong(id.getLeastSignificantBits())
+                                .array();
+        }
+}
@@ -0,0 +1,278 @@
+package project.spring_restful_api.repository;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import project.spring_restful_api.EmbeddedMariaDb;
+import project.spring_restful_api.security.BCrypt;
+import project.spring_restful_api.util.UuidUtil;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs the Flyway migrations against an embedded MariaDB, captures every
+ * statement the hot endpoints send and fails if EXPLAIN reports a full table
+ * or full index scan for any of them.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+        private static final int USERS = 200;
+
+        private static final int CONTACTS_PER_USER = 10;
+
+        private static final int ADDRESSES_PER_CONTACT = 2;
+
+        private static final List<CapturedQuery> CAPTURED = new CopyOnWriteArrayList<>();
+
+        private static volatile boolean capturing;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        private UUID contactId;
+
+        private UUID addressId;
+
+        private UUID deletedAddressId;
+
+        @DynamicPropertySource
+        static void embeddedDatabase(DynamicPropertyRegistry registry) {
+                String url = EmbeddedMariaDb.start("query-plan");
+                registry.add("spring.datasource.url", () -> url);
+                registry.add("spring.datasource.username", () -> "root");
+                registry.add("spring.datasource.password", () -> "");
+                registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MariaDBDialect");
+                registry.add("spring.jpa.properties.hibernate.cache.use_second_level_cache", () -> "false");
+                registry.add("spring.jpa.properties.hibernate.cache.use_query_cache", () -> "false");
+        }
+
+        @BeforeAll
+        void seed() {
+                String password = BCrypt.hashpw("rahasia", BCrypt.gensalt());
+                List<Object[]> users = new ArrayList<>();
+                List<Object[]> contacts = new ArrayList<>();
+                List<Object[]> addresses = new ArrayList<>();
+
+                for (int u = 0; u < USERS; u++) {
+                        String username = u == 0 ? "helmy_fadlail" : "user_" + u;
+                        String token = u == 0 ? "test_token" : "token_" + u;
+                        users.add(new Object[] { username, password, "Helmy Fadlail", token,
+                                        System.currentTimeMillis() + 1000000000 });
+
+                        for (int c = 0; c < CONTACTS_PER_USER; c++) {
+                                UUID id = UuidUtil.randomV7();
+                                if (u == 0 && c == 0) {
+                                        contactId = id;
+                                }
+                                contacts.add(new Object[] { toBytes(id), username, "Helmy " + c, "Fadlail",
+                                                "081334105663", "helmyfadlail." + c + "@gmail.com" });
+
+                                for (int a = 0; a < ADDRESSES_PER_CONTACT; a++) {
+                                        UUID address = UuidUtil.randomV7();
+                                        if (u == 0 && c == 0 && a == 0) {
+                                                addressId = address;
+                                        } else if (u == 0 && c == 0 && a == 1) {
+                                                deletedAddressId = address;
+                                        }
+                                        addresses.add(new Object[] { toBytes(address), toBytes(id), "Jln. Raya Sawahan",
+                                                        "Nganjuk", "Jawa Timur", "Indonesia", "64473" });
+                                }
+                        }
+                }
+
+                jdbcTemplate.batchUpdate("INSERT INTO users (username, password, name, token, token_expired_at) "
+                                + "VALUES (?, ?, ?, ?, ?)", users);
+                jdbcTemplate.batchUpdate("INSERT INTO contacts (id, username, first_name, last_name, phone, email) "
+                                + "VALUES (?, ?, ?, ?, ?, ?)", contacts);
+                jdbcTemplate.batchUpdate("INSERT INTO addresses (id, contact_id, street, city, province, country, "
+                                + "postal_code) VALUES (?, ?, ?, ?, ?, ?, ?)", addresses);
+                jdbcTemplate.execute("ANALYZE TABLE users, contacts, addresses");
+        }
+
+        @Test
+        void getContactUsesIndexes() throws Throwable {
+                assertNoFullScans(() -> mockMvc.perform(
+                                get("/api/contacts/" + contactId)
+                                                .accept(MediaType.APPLICATION_JSON)
+                                                .header("X-API-TOKEN", "test_token"))
+                                .andExpect(status().isOk()));
+        }
+
+        @Test
+        void searchContactUsesIndexes() throws Throwable {
+                assertNoFullScans(() -> {
+                        mockMvc.perform(
+                                        get("/api/contacts")
+                                                        .queryParam("name", "Helmy")
+                                                        .accept(MediaType.APPLICATION_JSON)
+                                                        .header("X-API-TOKEN", "test_token"))
+                                        .andExpect(status().isOk());
+                        mockMvc.perform(
+                                        get("/api/contacts")
+                                                        .queryParam("email", "fadlail")
+                                                        .queryParam("phone", "5663")
+                                                        .queryParam("page", "1")
+                                                        .queryParam("size", "5")
+                                                        .accept(MediaType.APPLICATION_JSON)
+                                                        .header("X-API-TOKEN", "test_token"))
+                                        .andExpect(status().isOk());
+                });
+        }
+
+        @Test
+        void addressReadsUseIndexes() throws Throwable {
+                assertNoFullScans(() -> {
+                        mockMvc.perform(
+                                        get("/api/contacts/" + contactId + "/addresses/" + addressId)
+                                                        .accept(MediaType.APPLICATION_JSON)
+                                                        .header("X-API-TOKEN", "test_token"))
+                                        .andExpect(status().isOk());
+                        mockMvc.perform(
+                                        get("/api/contacts/" + contactId + "/addresses")
+                                                        .accept(MediaType.APPLICATION_JSON)
+                                                        .header("X-API-TOKEN", "test_token"))
+                                        .andExpect(status().isOk());
+                });
+        }
+
+        @Test
+        void addressWritesUseIndexes() throws Throwable {
+                assertNoFullScans(() -> {
+                        mockMvc.perform(
+                                        patch("/api/contacts/" + contactId + "/addresses/" + addressId)
+                                                        .accept(MediaType.APPLICATION_JSON)
+                                                        .contentType(MediaType.APPLICATION_JSON)
+                                                        .content("{\"city\":\"Nganjuk Selatan\",\"country\":\"Indonesia\"}")
+                                                        .header("X-API-TOKEN", "test_token"))
+                                        .andExpect(status().isOk());
+                        mockMvc.perform(
+                                        delete("/api/contacts/" + contactId + "/addresses/" + deletedAddressId)
+                                                        .accept(MediaType.APPLICATION_JSON)
+                                                        .header("X-API-TOKEN", "test_token"))
+                                        .andExpect(status().isOk());
+                });
+        }
+
+        private void assertNoFullScans(Executable requests) throws Throwable {
+                CAPTURED.clear();
+                capturing = true;
+                try {
+                        requests.execute();
+                } finally {
+                        capturing = false;
+                }
+
+                List<CapturedQuery> queries = List.copyOf(CAPTURED);
+                assertFalse(queries.isEmpty());
+                for (CapturedQuery query : queries) {
+                        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + query.sql(),
+                                        query.parameters());
+                        for (Map<String, Object> row : plan) {
+                                Object type = row.get("type");
+                                assertFalse("ALL".equals(type) || "index".equals(type),
+                                                () -> "Full scan of " + row.get("table") + " for: " + query.sql()
+                                                                + "\n" + plan);
+                        }
+                }
+        }
+
+        private static byte[] toBytes(UUID id) {
+                return ByteBuffer.allocate(16)
+                                .putLong(id.getMostSignificantBits())
+                                .putLong(id.getLeastSignificantBits())
+                                .array();
+        }
+
+        record CapturedQuery(String sql, Object[] parameters) {
+        }
+
+        @TestConfiguration
+        static class CapturingDataSourceConfiguration {
+
+                @Bean
+                static BeanPostProcessor capturingDataSourcePostProcessor() {
+                        return new BeanPostProcessor() {
+                                @Override
+                                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                                        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                                                return ProxyDataSourceBuilder.create(dataSource)
+                                                                .listener(new CapturingListener())
+                                                                .build();
+                                        }
+                                        return bean;
+                                }
+                        };
+                }
+        }
+
+        static class CapturingListener implements QueryExecutionListener {
+
+                @Override
+                public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                }
+
+                @Override
+                public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                        if (!capturing) {
+                                return;
+                        }
+                        for (QueryInfo queryInfo : queryInfoList) {
+                                String sql = queryInfo.getQuery().strip();
+                                String verb = sql.length() < 6 ? sql : sql.substring(0, 6).toLowerCase();
+                                if (!verb.equals("select") && !verb.equals("update") && !verb.equals("delete")) {
+                                        continue;
+                                }
+                                List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+                                List<ParameterSetOperation> parameters = parametersList.isEmpty()
+                                                ? List.of()
+                                                : parametersList.get(0);
+                                CAPTURED.add(new CapturedQuery(sql, parameters.stream()
+                                                .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                                                .map(CapturingListener::value)
+                                                .toArray()));
+                        }
+                }
+
+                private static Object value(ParameterSetOperation operation) {
+                        Method method = operation.getMethod();
+                        return "setNull".equals(method.getName()) ? null : operation.getArgs()[1];
+                }
+        }
+}
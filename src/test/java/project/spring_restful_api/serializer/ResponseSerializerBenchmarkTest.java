@@ -0,0 +1,81 @@
+package project.spring_restful_api.serializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import project.spring_restful_api.model.ContactResponse;
+import project.spring_restful_api.model.PagingResponse;
+import project.spring_restful_api.model.WebResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares encode time of a 100 contact search page through Jackson's bean
+ * serializers and through ResponseSerializerModule. Only runs with
+ * -Dbenchmark=true; -Dbenchmark.iterations controls the sample size.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ResponseSerializerBenchmarkTest {
+
+        private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 50_000);
+
+        private static final int PAGE_SIZE = 100;
+
+        @Test
+        void precompiledVersusReflectiveSerializers() throws Exception {
+                ObjectMapper reflective = new ObjectMapper()
+                                .setFilterProvider(new SimpleFilterProvider()
+                                                .addFilter(WebResponse.FIELD_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+                ObjectMapper precompiled = reflective.copy().registerModule(new ResponseSerializerModule());
+                WebResponse<List<ContactResponse>> page = page();
+
+                double reflectiveTime = measure(reflective, page);
+                double precompiledTime = measure(precompiled, page);
+
+                log.info("Encoded a {} contact page: bean serializers {} us, ResponseSerializerModule {} us",
+                                PAGE_SIZE, reflectiveTime, precompiledTime);
+                assertTrue(precompiledTime > 0);
+        }
+
+        private double measure(ObjectMapper mapper, WebResponse<List<ContactResponse>> page) throws Exception {
+                // warm up the serializers and the JIT before timing
+                for (int i = 0; i < ITERATIONS / 10; i++) {
+                        mapper.writeValueAsBytes(page);
+                }
+
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                        mapper.writeValueAsBytes(page);
+                }
+                return (System.nanoTime() - start) / ITERATIONS / 1_000.0;
+        }
+
+        private WebResponse<List<ContactResponse>> page() {
+                List<ContactResponse> contacts = new ArrayList<>(PAGE_SIZE);
+                for (int i = 0; i < PAGE_SIZE; i++) {
+                        contacts.add(ContactResponse.builder()
+                                        .id(UUID.randomUUID().toString())
+                                        .firstName("Helmy " + i)
+                                        .lastName("Fadlail")
+                                        .email("helmyfadlail." + i + "@gmail.com")
+                                        .phone("08133410" + String.format("%04d", i))
+                                        .build());
+                }
+                return WebResponse.<List<ContactResponse>>builder()
+                                .data(contacts)
+                                .paging(PagingResponse.builder()
+                                                .currentPage(0)
+                                                .totalPage(10)
+                                                .size(PAGE_SIZE)
+                                                .build())
+                                .build();
+        }
+}
@@ -0,0 +1,73 @@
+package project.spring_restful_api.serializer;
+
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.junit.jupiter.api.Test;
+import project.spring_restful_api.model.AddressResponse;
+import project.spring_restful_api.model.ChangeResponse;
+import project.spring_restful_api.model.ContactResponse;
+import project.spring_restful_api.model.PagingResponse;
+import project.spring_restful_api.model.TokenResponse;
+import project.spring_restful_api.model.WebResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseSerializerModuleTest {
+
+        private final ObjectMapper reflective = new ObjectMapper()
+                        .setFilterProvider(new SimpleFilterProvider()
+                                        .addFilter(WebResponse.FIELD_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+
+        private final ObjectMapper precompiled = reflective.copy()
+                        .registerModule(new ResponseSerializerModule());
+
+        @Test
+        void contactPageMatchesBeanSerializer() throws Exception {
+                WebResponse<List<ContactResponse>> response = WebResponse.<List<ContactResponse>>builder()
+                                .data(List.of(
+                                                ContactResponse.builder().id("1").firstName("Helmy").lastName("Fadlail")
+                                                                .email("helmyfadlail.5@gmail.com").phone("081334105663")
+                                                                .version(3L).build(),
+                                                ContactResponse.builder().id("2").firstName("Fadlail").build()))
+                                .paging(PagingResponse.builder().currentPage(0).totalPage(1).size(10).build())
+                                .build();
+
+                assertEquals(reflective.writeValueAsString(response), precompiled.writeValueAsString(response));
+        }
+
+        @Test
+        void nestedAndScalarResponsesMatchBeanSerializer() throws Exception {
+                WebResponse<ChangeResponse> change = WebResponse.<ChangeResponse>builder()
+                                .data(ChangeResponse.builder().seq(1L).type("address").id("1").contactId("2")
+                                                .address(AddressResponse.builder().id("1").street("Jalan").country("Indonesia")
+                                                                .build())
+                                                .build())
+                                .build();
+                WebResponse<TokenResponse> token = WebResponse.<TokenResponse>builder()
+                                .data(TokenResponse.builder().token("token").expiredAt(1_000L).build())
+                                .build();
+                WebResponse<String> error = WebResponse.<String>builder().errors("Contact not found").build();
+
+                assertEquals(reflective.writeValueAsString(change), precompiled.writeValueAsString(change));
+                assertEquals(reflective.writeValueAsString(token), precompiled.writeValueAsString(token));
+                assertEquals(reflective.writeValueAsString(error), precompiled.writeValueAsString(error));
+        }
+
+        @Test
+        void sparseFieldsMatchBeanSerializer() throws Exception {
+                SimpleFilterProvider filters = new SimpleFilterProvider()
+                                .addFilter(WebResponse.FIELD_FILTER, new FieldSelection(Set.of("id", "email")));
+                WebResponse<ContactResponse> response = WebResponse.<ContactResponse>builder()
+                                .data(ContactResponse.builder().id("1").firstName("Helmy")
+                                                .email("helmyfadlail.5@gmail.com").build())
+                                .build();
+
+                String json = precompiled.writer(filters).writeValueAsString(response);
+                assertEquals(reflective.writer(filters).writeValueAsString(response), json);
+                assertFalse(json.contains("firstName"));
+        }
+}
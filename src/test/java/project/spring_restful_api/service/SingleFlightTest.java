@@ -0,0 +1,132 @@
+package project.spring_restful_api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import project.spring_restful_api.entity.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SingleFlightTest {
+
+        private static final int CALLERS = 8;
+
+        @Autowired
+        private SingleFlight singleFlight;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Test
+        void concurrentIdenticalReadsShareOneQuery() throws Exception {
+                User user = user("helmy_fadlail");
+                AtomicInteger queries = new AtomicInteger();
+                CountDownLatch release = new CountDownLatch(1);
+
+                List<Future<String>> results = new ArrayList<>();
+                try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+                        for (int i = 0; i < CALLERS; i++) {
+                                results.add(executor.submit(() -> singleFlight.read("test-shared", user, List.of("id"),
+                                                () -> {
+                                                        queries.incrementAndGet();
+                                                        await(release);
+                                                        return "result";
+                                                })));
+                        }
+                        waitForCoalesced("test-shared", CALLERS - 1);
+                        release.countDown();
+
+                        for (Future<String> result : results) {
+                                assertEquals("result", result.get(5, TimeUnit.SECONDS));
+                        }
+                }
+
+                assertEquals(1, queries.get());
+                assertEquals(1.0, count("test-shared", "executed"), 0.0);
+                assertEquals(CALLERS - 1, count("test-shared", "coalesced"), 0.0);
+        }
+
+        @Test
+        void waitersShareTheException() throws Exception {
+                User user = user("helmy_fadlail");
+                CountDownLatch release = new CountDownLatch(1);
+
+                List<Future<String>> results = new ArrayList<>();
+                try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+                        for (int i = 0; i < CALLERS; i++) {
+                                results.add(executor.submit(() -> singleFlight.read("test-failed", user, List.of("id"),
+                                                () -> {
+                                                        await(release);
+                                                        throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                                                                        "Contact not found");
+                                                })));
+                        }
+                        waitForCoalesced("test-failed", CALLERS - 1);
+                        release.countDown();
+
+                        for (Future<String> result : results) {
+                                ExecutionException exception = assertThrows(ExecutionException.class,
+                                                () -> result.get(5, TimeUnit.SECONDS));
+                                ResponseStatusException cause = assertInstanceOf(ResponseStatusException.class,
+                                                exception.getCause());
+                                assertEquals(HttpStatus.NOT_FOUND, cause.getStatusCode());
+                        }
+                }
+        }
+
+        @Test
+        void differentUsersAndArgumentsAreNotShared() {
+                AtomicInteger queries = new AtomicInteger();
+
+                singleFlight.read("test-distinct", user("helmy_fadlail"), List.of("a"), queries::incrementAndGet);
+                singleFlight.read("test-distinct", user("helmy_fadlail"), List.of("b"), queries::incrementAndGet);
+                singleFlight.read("test-distinct", user("other_user"), List.of("a"), queries::incrementAndGet);
+
+                assertEquals(3, queries.get());
+                assertEquals(0.0, count("test-distinct", "coalesced"), 0.0);
+        }
+
+        private void waitForCoalesced(String name, int expected) throws InterruptedException {
+                long deadline = System.currentTimeMillis() + 5_000;
+                while (count(name, "coalesced") < expected && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(10);
+                }
+        }
+
+        private double count(String name, String outcome) {
+                Counter counter = meterRegistry.find("app.single-flight.calls")
+                                .tag("call", name)
+                                .tag("outcome", outcome)
+                                .counter();
+                return counter != null ? counter.count() : 0.0;
+        }
+
+        private static void await(CountDownLatch latch) {
+                try {
+                        latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                }
+        }
+
+        private static User user(String username) {
+                User user = new User();
+                user.setUsername(username);
+                return user;
+        }
+}